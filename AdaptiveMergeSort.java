@@ -0,0 +1,164 @@
+/*
+ * Natural, bottom-up merge sort in the spirit of TimSort.
+ *
+ * A first scan splits the input into runs: ascending runs are kept, strictly
+ * descending runs are reversed in place, and runs shorter than MIN_RUN are
+ * extended with binary insertion. Neighbouring runs are then merged pass by
+ * pass, ping-ponging between the data and one auxiliary buffer allocated up
+ * front, so there is no recursion and no per-merge allocation. Merges switch
+ * to galloping when one side keeps winning, and runs that are already in
+ * order relative to each other are copied through. Input that is mostly
+ * sorted therefore finishes in close to linear time.
+ */
+public class AdaptiveMergeSort implements SortAlgorithm {
+    static final int MIN_RUN = 32;
+    static final int MIN_GALLOP = 7;
+
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    // Progress counts the run scan as one pass plus one per merge pass.
+    public void sort(int[] data, ProgressListener listener) {
+        int n = data.length;
+        if (n < 2) return;
+        if (n <= MIN_RUN) {
+            binaryInsertionSort(data, 0, n, countRunAndMakeAscending(data, 0, n));
+            return;
+        }
+
+        // runs[r] is the start of run r; runs[count] == n.
+        int[] runs = new int[n / MIN_RUN + 2];
+        int count = 0;
+        for (int start = 0; start < n; ) {
+            int length = countRunAndMakeAscending(data, start, n);
+            if (length < MIN_RUN) {
+                int forced = Math.min(MIN_RUN, n - start);
+                binaryInsertionSort(data, start, start + forced, start + length);
+                length = forced;
+            }
+            runs[count++] = start;
+            start += length;
+        }
+        runs[count] = n;
+        if (count == 1) return;
+        int passes = 33 - Integer.numberOfLeadingZeros(count - 1);
+        listener.progress(1, passes);
+
+        int[] src = data, dst = new int[n];
+        OpCounter.allocateInts(n + runs.length);
+        while (count > 1) {
+            int merged = 0;
+            for (int r = 0; r < count; r += 2) {
+                int lo = runs[r];
+                if (r + 1 == count) {
+                    System.arraycopy(src, lo, dst, lo, n - lo);
+                } else {
+                    merge(src, dst, lo, runs[r + 1], runs[r + 2]);
+                }
+                runs[merged++] = lo;
+            }
+            runs[merged] = n;
+            count = merged;
+            listener.progress(passes - (32 - Integer.numberOfLeadingZeros(count - 1)), passes);
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != data) System.arraycopy(src, 0, data, 0, n);
+    }
+
+    public String getComplexity() {
+        return "O(n log n), O(n) on presorted runs";
+    }
+
+    // Length of the run starting at lo; a strictly descending run is reversed
+    // so the result is always ascending. Strictness keeps the sort stable.
+    private static int countRunAndMakeAscending(int[] data, int lo, int hi) {
+        int end = lo + 1;
+        if (end == hi) return 1;
+        if (OpCounter.less(data[end++], data[lo])) {
+            while (end < hi && OpCounter.less(data[end], data[end - 1])) end++;
+            for (int i = lo, j = end - 1; i < j; i++, j--) {
+                int t = data[i];
+                data[i] = data[j];
+                data[j] = t;
+            }
+        } else {
+            while (end < hi && OpCounter.lessOrEqual(data[end - 1], data[end])) end++;
+        }
+        return end - lo;
+    }
+
+    // Sorts data[lo, hi) given that data[lo, start) is already sorted.
+    private static void binaryInsertionSort(int[] data, int lo, int hi, int start) {
+        for (int i = Math.max(start, lo + 1); i < hi; i++) {
+            int pivot = data[i];
+            int left = lo, right = i;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (OpCounter.less(pivot, data[mid])) right = mid;
+                else left = mid + 1;
+            }
+            System.arraycopy(data, left, data, left + 1, i - left);
+            OpCounter.move(i - left + 1);
+            data[left] = pivot;
+        }
+    }
+
+    // Merges src[lo, mid) and src[mid, hi) into dst[lo, hi). Ties take from
+    // the left run, keeping the merge stable.
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+        OpCounter.move(hi - lo);
+        if (OpCounter.lessOrEqual(src[mid - 1], src[mid])) {
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return;
+        }
+        int i = lo, j = mid, k = lo;
+        int leftWins = 0, rightWins = 0;
+        while (i < mid && j < hi) {
+            if (OpCounter.less(src[j], src[i])) {
+                dst[k++] = src[j++];
+                leftWins = 0;
+                if (++rightWins >= MIN_GALLOP && j < hi) {
+                    int end = gallop(src, j, hi, src[i], false);
+                    System.arraycopy(src, j, dst, k, end - j);
+                    k += end - j;
+                    j = end;
+                    rightWins = 0;
+                }
+            } else {
+                dst[k++] = src[i++];
+                rightWins = 0;
+                if (++leftWins >= MIN_GALLOP && i < mid) {
+                    int end = gallop(src, i, mid, src[j], true);
+                    System.arraycopy(src, i, dst, k, end - i);
+                    k += end - i;
+                    i = end;
+                    leftWins = 0;
+                }
+            }
+        }
+        if (i < mid) System.arraycopy(src, i, dst, k, mid - i);
+        else if (j < hi) System.arraycopy(src, j, dst, k, hi - j);
+    }
+
+    // First index in data[from, to) whose value is > key (inclusive) or
+    // >= key (exclusive), found by exponential then binary search.
+    private static int gallop(int[] data, int from, int to, int key, boolean inclusive) {
+        int bound = 1;
+        int low = from;
+        while (from + bound < to && (inclusive ? OpCounter.lessOrEqual(data[from + bound - 1], key)
+                : OpCounter.less(data[from + bound - 1], key))) {
+            low = from + bound;
+            bound <<= 1;
+        }
+        int high = Math.min(from + bound, to);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (inclusive ? OpCounter.lessOrEqual(data[mid], key) : OpCounter.less(data[mid], key)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,81 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+/*
+ * Blocking client for AlgorithmServer over one connection. Calls are not
+ * thread-safe; give each thread its own client. A BUSY answer is raised as
+ * BusyException so callers can back off and retry; other server-side
+ * failures are IOExceptions carrying the server's message.
+ */
+public class AlgorithmClient implements AutoCloseable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    @SuppressWarnings("serial")
+    public static final class BusyException extends IOException {
+        BusyException(String message) {
+            super(message);
+        }
+    }
+
+    public AlgorithmClient(int port) throws IOException {
+        this(InetAddress.getLoopbackAddress().getHostAddress(), port);
+    }
+
+    public AlgorithmClient(String host, int port) throws IOException {
+        socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+    }
+
+    public int[] sort(String algorithm, int[] data) throws IOException {
+        ByteBuffer request = ByteBuffer.allocate(1 + 2 + AlgorithmServer.stringBytes(algorithm)
+                + Integer.BYTES + data.length * Integer.BYTES).put(AlgorithmServer.OP_SORT);
+        AlgorithmServer.putString(request, algorithm);
+        return AlgorithmServer.getInts(call(AlgorithmServer.putInts(request, data)));
+    }
+
+    public int register(String dataset, int[] data) throws IOException {
+        ByteBuffer request = ByteBuffer.allocate(1 + 2 + AlgorithmServer.stringBytes(dataset)
+                + Integer.BYTES + data.length * Integer.BYTES).put(AlgorithmServer.OP_REGISTER);
+        AlgorithmServer.putString(request, dataset);
+        return call(AlgorithmServer.putInts(request, data)).getInt();
+    }
+
+    // Indices into the registered data of the first occurrence of each key, or -1.
+    public int[] search(String dataset, String algorithm, int... keys) throws IOException {
+        ByteBuffer request = ByteBuffer.allocate(1 + 2 + AlgorithmServer.stringBytes(dataset)
+                + 2 + AlgorithmServer.stringBytes(algorithm) + Integer.BYTES + keys.length * Integer.BYTES)
+                .put(AlgorithmServer.OP_SEARCH);
+        AlgorithmServer.putString(request, dataset);
+        AlgorithmServer.putString(request, algorithm);
+        return AlgorithmServer.getInts(call(AlgorithmServer.putInts(request, keys)));
+    }
+
+    public String stats() throws IOException {
+        return AlgorithmServer.getString(call(ByteBuffer.allocate(1).put(AlgorithmServer.OP_STATS)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private ByteBuffer call(ByteBuffer request) throws IOException {
+        AlgorithmServer.writeFrame(out, request);
+        ByteBuffer response = AlgorithmServer.readFrame(in);
+        byte status = response.get();
+        if (status == AlgorithmServer.STATUS_OK) return response;
+        String message = AlgorithmServer.getString(response);
+        if (status == AlgorithmServer.STATUS_BUSY) throw new BusyException(message);
+        throw new IOException("Server error: " + message);
+    }
+}
@@ -1,6 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
+import java.util.Arrays;
 
 public class AlgorithmGUI {
     private final InputHandler inputHandler = new InputHandler();
@@ -20,12 +20,13 @@ public class AlgorithmGUI {
     }
 
     private void handleSearching() {
-        String[] options = {"1. Sequential Search", "2. Binary Search", "0. Back"};
+        String[] options = {"1. Sequential Search", "2. Binary Search", "3. Parallel Sequential Search", "0. Back"};
         int choice = showOptionDialog("Welcome to Searching. Choose an algorithm:", options);
         SearchAlgorithm algorithm = switch (choice) {
             case 0 -> new SequentialSearch();
             case 1 -> new BinarySearch();
-            case 2, -1 -> null;
+            case 2 -> new ParallelSequentialSearch();
+            case 3, -1 -> null;
             default -> {
                 showError("Invalid input.");
                 yield null;
@@ -37,18 +38,26 @@ public class AlgorithmGUI {
     private void handleSorting() {
         String[] options = {
             "1. Bubble Sort", "2. Heap Sort", "3. Insertion Sort",
-            "4. Quick Sort", "5. Merge Sort", "6. Selection Sort", "7. Radix Sort", "0. Back"
+            "4. Quick Sort", "5. Merge Sort", "6. Selection Sort", "7. Radix Sort",
+            "8. Parallel Quick Sort", "9. Parallel Merge Sort", "10. Parallel Radix Sort",
+            "11. Intro Sort", "12. Adaptive Merge Sort", "13. Auto (pick for this input)", "0. Back"
         };
         int choice = showOptionDialog("Welcome to Sorting. Choose an algorithm:", options);
         SortAlgorithm algorithm = switch (choice) {
             case 0 -> new BubbleSort();
             case 1 -> new HeapSort();
             case 2 -> new InsertionSort();
-            case 3 -> new QuickSort();
+            case 3 -> new IntroSort();
             case 4 -> new MergeSort();
             case 5 -> new SelectionSort();
             case 6 -> new RadixSort();
-            case 7, -1 -> null;
+            case 7 -> new ParallelQuickSort();
+            case 8 -> new ParallelMergeSort();
+            case 9 -> new ParallelRadixSort();
+            case 10 -> new IntroSort();
+            case 11 -> new AdaptiveMergeSort();
+            case 12 -> new AutoSort();
+            case 13, -1 -> null;
             default -> {
                 showError("Invalid input.");
                 yield null;
@@ -58,36 +67,52 @@ public class AlgorithmGUI {
     }
 
     private void runSearch(SearchAlgorithm algorithm) {
-        List<Integer> list = getInputData();
+        IntList list = getInputData();
         if (list == null || list.isEmpty()) return;
         int target = Integer.parseInt(JOptionPane.showInputDialog("Enter the value to search:"));
+        SortedIntIndex index = null;
+        if (algorithm instanceof BinarySearch) {
+            index = ProgressDialog.run(null, "Indexing " + list.size() + " values...", false, listener -> SortedIntIndex.build(list));
+            if (index == null) return;
+        }
 
         long start = System.nanoTime();
-        int result = algorithm.search(list, target);
+        int result = index != null ? index.indexOf(target) : algorithm.search(list, target);
         long end = System.nanoTime();
 
         StringBuilder message = new StringBuilder("Search Result: ");
-        message.append(result != -1 ? "Found at index " + result : "Not found").append("
-");
-        message.append(TimeUtils.getReport(algorithm.getClass().getSimpleName(), end - start));
+        message.append(result != -1 ? "Found at index " + result : "Not found").append("\n");
+        message.append(TimeUtils.getReport(algorithm.getComplexity(), end - start));
         showMessage(message.toString());
     }
 
     private void runSort(SortAlgorithm algorithm) {
-        List<Integer> list = getInputData();
+        IntList list = getInputData();
         if (list == null || list.isEmpty()) return;
+        int[] original = TimeUtils.hasMeasuredReport(list.size()) ? list.toArray() : null;
+        int[] data = list.array();
 
-        long start = System.nanoTime();
-        algorithm.sort(list);
-        long end = System.nanoTime();
+        long[] elapsed = new long[1];
+        int[] sorted = ProgressDialog.run(null, "Sorting " + data.length + " values...", listener -> {
+            long start = System.nanoTime();
+            algorithm.sort(data, listener);
+            elapsed[0] = System.nanoTime() - start;
+            return data;
+        });
+        if (sorted == null) return;
+        // Before measuring: AutoSort reports the choice of its last run.
+        String complexity = algorithm.getComplexity();
+        String measured = original == null ? "" :
+                ProgressDialog.run(null, "Measuring growth (Cancel to skip)...",
+                        listener -> TimeUtils.getMeasuredReport(algorithm, original, listener));
 
-        StringBuilder message = new StringBuilder("Sorted Output: " + list + "
-");
-        message.append(TimeUtils.getReport(algorithm.getClass().getSimpleName(), end - start));
-        showMessage(message.toString());
+        StringBuilder message = new StringBuilder("Sorted " + sorted.length + " values\n");
+        message.append(TimeUtils.getReport(complexity, elapsed[0]));
+        if (measured != null && !measured.isEmpty()) message.append('\n').append(measured);
+        ResultView.show(null, "Sorted Output", message.toString(), sorted);
     }
 
-    private List<Integer> getInputData() {
+    private IntList getInputData() {
         String[] options = {"1. Enter manually", "2. Upload from file", "0. Cancel"};
         int choice = showOptionDialog("Choose input method:", options);
         return switch (choice) {
@@ -101,7 +126,7 @@ public class AlgorithmGUI {
         Object selection = JOptionPane.showInputDialog(null, message, "Menu",
                 JOptionPane.PLAIN_MESSAGE, null, options, options[0]);
         if (selection == null) return -1;
-        return Integer.parseInt(selection.toString().substring(0, 1));
+        return Arrays.asList(options).indexOf(selection);
     }
 
     private void showMessage(String msg) {
@@ -0,0 +1,69 @@
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * Name lookup for every sort and search implementation, for entry points that
+ * take the algorithm as text instead of a menu choice. Names match the class
+ * name case-insensitively, with or without the "Sort"/"Search" suffix, so
+ * "IntroSort", "introsort" and "intro" all work.
+ */
+final class AlgorithmRegistry {
+    private static final Map<String, Supplier<SortAlgorithm>> SORTS = new LinkedHashMap<>();
+    private static final Map<String, Supplier<SearchAlgorithm>> SEARCHES = new LinkedHashMap<>();
+
+    static {
+        SORTS.put("BubbleSort", BubbleSort::new);
+        SORTS.put("InsertionSort", InsertionSort::new);
+        SORTS.put("SelectionSort", SelectionSort::new);
+        // The plain QuickSort goes quadratic, and stack-deep, on ordered
+        // input; asking for quick sort by name gets the introsort.
+        SORTS.put("QuickSort", IntroSort::new);
+        SORTS.put("MergeSort", MergeSort::new);
+        SORTS.put("HeapSort", HeapSort::new);
+        SORTS.put("RadixSort", RadixSort::new);
+        SORTS.put("IntroSort", IntroSort::new);
+        SORTS.put("AdaptiveMergeSort", AdaptiveMergeSort::new);
+        SORTS.put("ParallelQuickSort", ParallelQuickSort::new);
+        SORTS.put("ParallelMergeSort", ParallelMergeSort::new);
+        SORTS.put("ParallelRadixSort", ParallelRadixSort::new);
+        SORTS.put("CountingSort", CountingSort::new);
+        SORTS.put("AutoSort", AutoSort::new);
+
+        SEARCHES.put("SequentialSearch", SequentialSearch::new);
+        SEARCHES.put("ParallelSequentialSearch", ParallelSequentialSearch::new);
+        SEARCHES.put("BinarySearch", BinarySearch::new);
+        SEARCHES.put("EytzingerSearch", EytzingerSearch::new);
+    }
+
+    private AlgorithmRegistry() {
+    }
+
+    static SortAlgorithm sort(String name) {
+        return lookup(SORTS, name, "Sort").get();
+    }
+
+    static SearchAlgorithm search(String name) {
+        return lookup(SEARCHES, name, "Search").get();
+    }
+
+    static Map<String, Supplier<SortAlgorithm>> sorts() {
+        return Collections.unmodifiableMap(SORTS);
+    }
+
+    static Map<String, Supplier<SearchAlgorithm>> searches() {
+        return Collections.unmodifiableMap(SEARCHES);
+    }
+
+    private static <T> Supplier<T> lookup(Map<String, Supplier<T>> registry, String name, String suffix) {
+        String wanted = name.toLowerCase(Locale.ROOT);
+        String suffixLower = suffix.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, Supplier<T>> entry : registry.entrySet()) {
+            String key = entry.getKey().toLowerCase(Locale.ROOT);
+            if (key.equals(wanted) || key.equals(wanted + suffixLower)) return entry.getValue();
+        }
+        throw new IllegalArgumentException("Unknown algorithm '" + name + "'. Known: " + registry.keySet());
+    }
+}
@@ -0,0 +1,530 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Embedded sort and search server, so many clients share one warm JVM. It
+ * listens on the loopback interface and speaks a length-prefixed binary
+ * protocol: every message is a big-endian int byte count followed by that
+ * many bytes.
+ *
+ *   request   op (byte) then              response  status (byte) then
+ *   SORT      alg, n, n ints              OK        n, n sorted ints
+ *   REGISTER  dataset, n, n ints          OK        n
+ *   SEARCH    dataset, alg, k, k keys     OK        k, k indices or -1
+ *   STATS     -                           OK        report text
+ *                                         ERROR     message
+ *                                         BUSY      message
+ *
+ * Strings are a short byte count and UTF-8. Every connection runs on its
+ * own virtual thread, which blocks freely. Searches against a registered
+ * dataset are queued per dataset in a bounded queue, and one batcher drains
+ * up to maxBatch of them at a time into a single pass. After the first
+ * request of a batch arrives, the batcher yields so ready connections can
+ * enqueue, then lingers for more up to half the time the previous pass
+ * took (at most MAX_LINGER_MICROS): expensive scans gather large batches
+ * while cheap index lookups hardly wait.
+ * - linear algorithms (SequentialSearch, ParallelSequentialSearch) scan the
+ *   data once for every key in the batch, stopping once all are found;
+ * - the rest are grouped by algorithm, and each group's keys are sorted and
+ *   passed to that algorithm's searchAll over the dataset's SortedIntIndex
+ *   values, so BinarySearch can merge-join and EytzingerSearch builds its
+ *   layout once per batch.
+ * Results are indices into the registered data, as in HeadlessRunner. A
+ * full queue that does not drain within SUBMIT_TIMEOUT_MS answers BUSY,
+ * which is the backpressure signal to clients. Searches waiting on a
+ * dataset that is re-registered are moved to the new one. STATS reports throughput,
+ * latency percentiles, errors and BUSY answers per endpoint.
+ */
+public class AlgorithmServer implements AutoCloseable {
+    static final byte OP_SORT = 1, OP_REGISTER = 2, OP_SEARCH = 3, OP_STATS = 4;
+    static final byte STATUS_OK = 0, STATUS_ERROR = 1, STATUS_BUSY = 2;
+    static final int DEFAULT_PORT = 7070;
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    static final int DEFAULT_MAX_BATCH = 256;
+    static final int MAX_FRAME_BYTES = 1 << 30;
+    static final long SUBMIT_TIMEOUT_MS = 100;
+    static final long SEARCH_TIMEOUT_MS = 30_000;
+    // Tries of a search whose dataset is replaced while it waits.
+    static final int SEARCH_ATTEMPTS = 3;
+    static final long MAX_LINGER_MICROS = 2_000;
+
+    private final ServerSocket socket;
+    private final int queueCapacity;
+    private final int maxBatch;
+    private final Map<String, Dataset> datasets = new ConcurrentHashMap<>();
+    private final Metrics[] metrics = {
+            new Metrics("sort"), new Metrics("register"), new Metrics("search"), new Metrics("stats")};
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRequests = new LongAdder();
+    private final long started = System.nanoTime();
+    private Thread acceptor;
+
+    private AlgorithmServer(int port, int queueCapacity, int maxBatch) throws IOException {
+        if (queueCapacity < 1 || maxBatch < 1) throw new IllegalArgumentException("Queue and batch sizes must be positive.");
+        this.queueCapacity = queueCapacity;
+        this.maxBatch = maxBatch;
+        this.socket = new ServerSocket();
+        socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    // Binds to port on the loopback address (0 picks a free one) and starts
+    // accepting once the server is fully constructed.
+    public static AlgorithmServer start(int port, int queueCapacity, int maxBatch) throws IOException {
+        AlgorithmServer server = new AlgorithmServer(port, queueCapacity, maxBatch);
+        server.acceptor = Thread.ofPlatform().name("algorithm-server-accept").daemon(true).start(server::acceptLoop);
+        return server;
+    }
+
+    public int port() {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+        for (Dataset dataset : datasets.values()) dataset.close();
+    }
+
+    // java AlgorithmServer [--port n] [--queue n] [--batch n]
+    public static void main(String[] args) throws Exception {
+        int port = DEFAULT_PORT, queue = DEFAULT_QUEUE_CAPACITY, batch = DEFAULT_MAX_BATCH;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--queue" -> queue = Integer.parseInt(args[i + 1]);
+                case "--batch" -> batch = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        AlgorithmServer server = start(port, queue, batch);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.println(server.stats())));
+        System.err.println("Listening on 127.0.0.1:" + server.port());
+        server.acceptor.join();
+    }
+
+    public String stats() {
+        double seconds = (System.nanoTime() - started) / 1e9;
+        StringBuilder report = new StringBuilder(String.format("uptime %.1f s, %d dataset(s)%n", seconds, datasets.size()));
+        for (Metrics m : metrics) report.append(m.report(seconds)).append('\n');
+        long b = batches.sum();
+        report.append(String.format("search batches: %d, mean batch size %.1f", b, b == 0 ? 0.0 : batchedRequests.sum() / (double) b));
+        return report.toString();
+    }
+
+    private void acceptLoop() {
+        try {
+            while (true) {
+                Socket client = socket.accept();
+                Thread.ofVirtual().name("algorithm-server-connection").start(() -> serve(client));
+            }
+        } catch (IOException e) {
+            // Closed.
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(client.getInputStream(), 1 << 16));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(client.getOutputStream(), 1 << 16))) {
+            client.setTcpNoDelay(true);
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (length < 1 || length > MAX_FRAME_BYTES) {
+                    writeFrame(out, error(STATUS_ERROR, "Bad frame length " + length));
+                    return;
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                writeFrame(out, handle(ByteBuffer.wrap(body)));
+            }
+        } catch (SocketException e) {
+            // Client went away.
+        } catch (IOException e) {
+            System.err.println("Connection failed: " + e.getMessage());
+        }
+    }
+
+    private ByteBuffer handle(ByteBuffer request) {
+        byte op = request.get();
+        if (op < OP_SORT || op > OP_STATS) return error(STATUS_ERROR, "Unknown op " + op);
+        Metrics m = metrics[op - 1];
+        long start = System.nanoTime();
+        ByteBuffer response;
+        try {
+            response = switch (op) {
+                case OP_SORT -> sort(request);
+                case OP_REGISTER -> register(request);
+                case OP_SEARCH -> search(request);
+                default -> stringResponse(stats());
+            };
+        } catch (BusyException e) {
+            m.busy.increment();
+            return error(STATUS_BUSY, e.getMessage());
+        } catch (RuntimeException e) {
+            m.errors.increment();
+            return error(STATUS_ERROR, e.getMessage() == null ? e.toString() : e.getMessage());
+        }
+        m.record(System.nanoTime() - start);
+        return response;
+    }
+
+    private ByteBuffer sort(ByteBuffer request) {
+        SortAlgorithm algorithm = AlgorithmRegistry.sort(getString(request));
+        int[] data = getInts(request);
+        algorithm.sort(data);
+        return putInts(ok(Integer.BYTES + data.length * Integer.BYTES), data);
+    }
+
+    private ByteBuffer register(ByteBuffer request) {
+        String name = getString(request);
+        int[] data = getInts(request);
+        Dataset dataset = new Dataset(name, data, SortedIntIndex.build(data));
+        Dataset previous = datasets.put(name, dataset);
+        if (previous != null) previous.close();
+        return ok(Integer.BYTES).putInt(data.length);
+    }
+
+    private ByteBuffer search(ByteBuffer request) {
+        String name = getString(request);
+        SearchAlgorithm algorithm = AlgorithmRegistry.search(getString(request));
+        int[] keys = getInts(request);
+        // A dataset replaced while the search waits fails it with
+        // DatasetClosedException; it is then sent to the replacement.
+        for (int attempt = 1; ; attempt++) {
+            Dataset dataset = datasets.get(name);
+            if (dataset == null) throw new IllegalArgumentException("No dataset named '" + name + "'");
+            try {
+                int[] results = dataset.submit(new Search(keys, algorithm, new CompletableFuture<>()));
+                return putInts(ok(Integer.BYTES + results.length * Integer.BYTES), results);
+            } catch (DatasetClosedException e) {
+                if (attempt == SEARCH_ATTEMPTS) throw new IllegalStateException("Dataset '" + name + "' keeps being replaced");
+            }
+        }
+    }
+
+    private record Search(int[] keys, SearchAlgorithm algorithm, CompletableFuture<int[]> result) {
+        boolean linear() {
+            return algorithm instanceof SequentialSearch || algorithm instanceof ParallelSequentialSearch;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class BusyException extends RuntimeException {
+        BusyException(String message) {
+            super(message);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class DatasetClosedException extends RuntimeException {
+        DatasetClosedException(String name) {
+            super("Dataset '" + name + "' was replaced or closed");
+        }
+    }
+
+    private final class Dataset {
+        final String name;
+        final int[] data;
+        final SortedIntIndex index;
+        final BlockingQueue<Search> queue = new ArrayBlockingQueue<>(queueCapacity);
+        final Thread batcher;
+        private volatile boolean closed;
+
+        Dataset(String name, int[] data, SortedIntIndex index) {
+            this.name = name;
+            this.data = data;
+            this.index = index;
+            this.batcher = Thread.ofVirtual().name("algorithm-server-batcher-" + name).start(this::drain);
+        }
+
+        int[] submit(Search search) {
+            if (closed) throw new DatasetClosedException(name);
+            try {
+                if (!queue.offer(search, SUBMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    throw new BusyException("Search queue for '" + name + "' is full; retry later");
+                }
+                // The batcher may have failed its queue before this offer.
+                if (closed) failQueued();
+                return search.result().get(SEARCH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            } catch (TimeoutException e) {
+                queue.remove(search);
+                throw new IllegalStateException("Search on '" + name + "' timed out after " + SEARCH_TIMEOUT_MS + " ms");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof DatasetClosedException closedException) throw closedException;
+                throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        // Stops taking searches; the batcher fails whatever it holds.
+        void close() {
+            closed = true;
+            batcher.interrupt();
+        }
+
+        private void failQueued() {
+            for (Search search; (search = queue.poll()) != null; ) {
+                search.result().completeExceptionally(new DatasetClosedException(name));
+            }
+        }
+
+        private void drain() {
+            List<Search> batch = new ArrayList<>(maxBatch);
+            List<Search> linear = new ArrayList<>();
+            Map<Class<?>, List<Search>> sorted = new LinkedHashMap<>();
+            long lastPass = 0;
+            try {
+                while (true) {
+                    batch.add(queue.take());
+                    long lingerUntil = System.nanoTime() + Math.min(MAX_LINGER_MICROS * 1_000, lastPass / 2);
+                    Thread.yield();
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    while (batch.size() < maxBatch) {
+                        Search next = queue.poll(lingerUntil - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) break;
+                        batch.add(next);
+                        queue.drainTo(batch, maxBatch - batch.size());
+                    }
+                    long passStart = System.nanoTime();
+                    batches.increment();
+                    batchedRequests.add(batch.size());
+                    for (Search search : batch) {
+                        if (search.linear()) linear.add(search);
+                        else sorted.computeIfAbsent(search.algorithm().getClass(), c -> new ArrayList<>()).add(search);
+                    }
+                    try {
+                        if (!linear.isEmpty()) scanOnce(linear);
+                        for (List<Search> group : sorted.values()) searchSorted(group);
+                    } catch (RuntimeException e) {
+                        for (Search search : batch) search.result().completeExceptionally(e);
+                    }
+                    lastPass = System.nanoTime() - passStart;
+                    batch.clear();
+                    linear.clear();
+                    sorted.clear();
+                }
+            } catch (InterruptedException e) {
+                // Replaced or shut down: fail the batch being gathered and
+                // everything queued; submit fails later arrivals.
+                for (Search search : batch) search.result().completeExceptionally(new DatasetClosedException(name));
+                failQueued();
+            }
+        }
+
+        // One pass over the data answers every key of the batch: an open
+        // addressing table maps each distinct key to its first index.
+        private void scanOnce(List<Search> searches) {
+            int total = 0;
+            for (Search search : searches) total += search.keys().length;
+            int capacity = Integer.highestOneBit(Math.max(2, total * 2 - 1)) << 1;
+            int mask = capacity - 1;
+            int[] tableKeys = new int[capacity], tableFirst = new int[capacity];
+            boolean[] used = new boolean[capacity];
+            int distinct = 0;
+            for (Search search : searches) {
+                for (int key : search.keys()) {
+                    int slot = slot(key, mask);
+                    while (used[slot] && tableKeys[slot] != key) slot = (slot + 1) & mask;
+                    if (!used[slot]) {
+                        used[slot] = true;
+                        tableKeys[slot] = key;
+                        tableFirst[slot] = -1;
+                        distinct++;
+                    }
+                }
+            }
+            int remaining = distinct;
+            for (int i = 0; i < data.length && remaining > 0; i++) {
+                int value = data[i];
+                int slot = slot(value, mask);
+                while (used[slot]) {
+                    if (tableKeys[slot] == value) {
+                        if (tableFirst[slot] < 0) {
+                            tableFirst[slot] = i;
+                            remaining--;
+                        }
+                        break;
+                    }
+                    slot = (slot + 1) & mask;
+                }
+            }
+            for (Search search : searches) {
+                int[] keys = search.keys();
+                int[] results = new int[keys.length];
+                for (int k = 0; k < keys.length; k++) {
+                    int slot = slot(keys[k], mask);
+                    while (tableKeys[slot] != keys[k]) slot = (slot + 1) & mask;
+                    results[k] = tableFirst[slot];
+                }
+                search.result().complete(results);
+            }
+        }
+
+        // All keys of the group, in ascending order, go to the group's
+        // algorithm in one searchAll call over the sorted values.
+        private void searchSorted(List<Search> searches) {
+            int total = 0;
+            for (Search search : searches) total += search.keys().length;
+            int[] keys = new int[total], slots = new int[total];
+            int at = 0;
+            for (Search search : searches) {
+                for (int key : search.keys()) {
+                    keys[at] = key;
+                    slots[at] = at;
+                    at++;
+                }
+            }
+            KeyValueSort.radixSort(keys, slots);
+            int[] found = index.searchAll(searches.get(0).algorithm(), keys);
+            int[] answers = new int[total];
+            for (int i = 0; i < total; i++) answers[slots[i]] = found[i];
+            at = 0;
+            for (Search search : searches) {
+                int n = search.keys().length;
+                int[] results = new int[n];
+                System.arraycopy(answers, at, results, 0, n);
+                at += n;
+                search.result().complete(results);
+            }
+        }
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ h >>> 16) & mask;
+    }
+
+    private static final class Metrics {
+        // Bucket b counts latencies in [2^(b-1), 2^b) microseconds.
+        private static final int BUCKETS = 40;
+
+        final String name;
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder busy = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        Metrics(String name) {
+            this.name = name;
+            for (int b = 0; b < BUCKETS; b++) buckets[b] = new LongAdder();
+        }
+
+        void record(long nanos) {
+            requests.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos / 1_000))].increment();
+        }
+
+        String report(double seconds) {
+            long n = requests.sum();
+            return String.format("%-8s %d ok (%.1f/s), %d errors, %d busy, latency mean %d us, p50 <= %d us, " +
+                            "p99 <= %d us, max %d us",
+                    name, n, n / seconds, errors.sum(), busy.sum(), n == 0 ? 0 : totalNanos.sum() / n / 1_000,
+                    percentile(n, 0.50), percentile(n, 0.99), maxNanos.get() / 1_000);
+        }
+
+        // Upper bound of the bucket holding the given quantile.
+        private long percentile(long n, double q) {
+            long target = (long) Math.ceil(n * q), seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += buckets[b].sum();
+                if (seen >= target && seen > 0) return 1L << b;
+            }
+            return 0;
+        }
+    }
+
+    // Protocol helpers, shared with AlgorithmClient.
+
+    static void writeFrame(DataOutputStream out, ByteBuffer body) throws IOException {
+        body.flip();
+        out.writeInt(body.remaining());
+        out.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        out.flush();
+    }
+
+    static ByteBuffer readFrame(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 1 || length > MAX_FRAME_BYTES) throw new IOException("Bad frame length " + length);
+        byte[] body = new byte[length];
+        in.readFully(body);
+        return ByteBuffer.wrap(body);
+    }
+
+    private static ByteBuffer ok(int bytes) {
+        return ByteBuffer.allocate(1 + bytes).put(STATUS_OK);
+    }
+
+    private static ByteBuffer error(byte status, String message) {
+        return putString(ByteBuffer.allocate(1 + 2 + stringBytes(message)).put(status), message);
+    }
+
+    private static ByteBuffer stringResponse(String text) {
+        return putString(ok(2 + stringBytes(text)), text);
+    }
+
+    static int stringBytes(String s) {
+        return Math.min(Short.MAX_VALUE, s.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    static ByteBuffer putString(ByteBuffer buffer, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        int n = Math.min(Short.MAX_VALUE, bytes.length);
+        return buffer.putShort((short) n).put(bytes, 0, n);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static ByteBuffer putInts(ByteBuffer buffer, int[] values) {
+        buffer.putInt(values.length);
+        buffer.asIntBuffer().put(values);
+        return buffer.position(buffer.position() + values.length * Integer.BYTES);
+    }
+
+    static int[] getInts(ByteBuffer buffer) {
+        int n = buffer.getInt();
+        if (n < 0 || (long) n * Integer.BYTES > buffer.remaining()) throw new IllegalArgumentException("Bad int count " + n);
+        int[] values = new int[n];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + n * Integer.BYTES);
+        return values;
+    }
+}
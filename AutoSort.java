@@ -0,0 +1,173 @@
+/*
+ * Picks a sort for each input from a cheap profile of it. One O(n) scan
+ * counts natural runs the way AdaptiveMergeSort will find them (ascending,
+ * or strictly descending) and takes the minimum and maximum from the run
+ * ends; an evenly spaced sample of about sqrt(n), at most SAMPLE_SIZE,
+ * values estimates the share of inverted pairs and of duplicates, so the
+ * pairwise count stays near one pass over the input. Then, in order:
+ *
+ *   tiny input                        -> InsertionSort
+ *   value range small next to n       -> CountingSort
+ *   long runs or few inversions       -> AdaptiveMergeSort
+ *   large input and several cores     -> ParallelQuickSort
+ *   large enough for the byte passes  -> RadixSort
+ *   otherwise                         -> AdaptiveMergeSort
+ *
+ * Duplicates are reported but decide nothing: RadixSort does not care about
+ * them, and a small range with many of them already picks CountingSort.
+ *
+ * The default thresholds come from timing the candidates on random, narrow
+ * range and nearly sorted inputs. To retune them, run SortBenchmark with
+ * AutoSort next to the candidates and set -Ddsa.auto.<name> system
+ * properties, or pass a Thresholds instance. getComplexity reports the last
+ * choice and why.
+ */
+public class AutoSort implements SortAlgorithm {
+    static final int SAMPLE_SIZE = 256;
+
+    public record Thresholds(int insertionMax, double countingRangePerValue, int countingMaxRange,
+                             int sortedRunLength, double sortedInversions, int parallelMin,
+                             int radixMin) {
+        public static final Thresholds DEFAULTS = new Thresholds(
+                Integer.getInteger("dsa.auto.insertionMax", 48),
+                doubleProperty("dsa.auto.countingRangePerValue", 1.0),
+                Integer.getInteger("dsa.auto.countingMaxRange", 1 << 22),
+                Integer.getInteger("dsa.auto.sortedRunLength", 64),
+                doubleProperty("dsa.auto.sortedInversions", 0.01),
+                Integer.getInteger("dsa.auto.parallelMin", 1 << 17),
+                Integer.getInteger("dsa.auto.radixMin", 64));
+
+        private static double doubleProperty(String name, double fallback) {
+            String value = System.getProperty(name);
+            return value == null ? fallback : Double.parseDouble(value);
+        }
+    }
+
+    // inversions and duplicates are sampled shares in [0, 1].
+    public record Profile(int size, int min, int max, int runs, double inversions, double duplicates) {
+        public long range() {
+            return size == 0 ? 0 : (long) max - min + 1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d, range=%d, runs=%d, ~%.1f%% inversions, ~%.1f%% duplicates",
+                    size, range(), runs, inversions * 100, duplicates * 100);
+        }
+    }
+
+    public record Choice(String name, SortAlgorithm algorithm, String reason, Profile profile) {
+        @Override
+        public String toString() {
+            return name + ", because " + reason + " (" + profile + ")";
+        }
+    }
+
+    private final Thresholds thresholds;
+    private final int processors;
+    private volatile Choice lastChoice;
+
+    public AutoSort() {
+        this(Thresholds.DEFAULTS);
+    }
+
+    public AutoSort(Thresholds thresholds) {
+        this(thresholds, Runtime.getRuntime().availableProcessors());
+    }
+
+    AutoSort(Thresholds thresholds, int processors) {
+        this.thresholds = thresholds;
+        this.processors = processors;
+    }
+
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    public void sort(int[] data, ProgressListener listener) {
+        Choice choice = choose(data);
+        lastChoice = choice;
+        if (choice.algorithm() instanceof CountingSort) {
+            // The profile already has the range.
+            CountingSort.sort(data, choice.profile().min(), choice.profile().max(), listener);
+        } else {
+            choice.algorithm().sort(data, listener);
+        }
+    }
+
+    // The choice of the most recent sort, or null before the first one.
+    public Choice lastChoice() {
+        return lastChoice;
+    }
+
+    public String getComplexity() {
+        Choice choice = lastChoice;
+        if (choice == null) return "Depends on the input; chosen on each call";
+        return choice.algorithm().getComplexity() + "\nAuto choice: " + choice;
+    }
+
+    public Choice choose(int[] data) {
+        Profile p = profile(data);
+        Thresholds t = thresholds;
+        int n = p.size();
+        if (n <= t.insertionMax()) {
+            return new Choice("InsertionSort", new InsertionSort(), "n <= " + t.insertionMax(), p);
+        }
+        if (p.range() <= t.countingMaxRange() && p.range() <= t.countingRangePerValue() * n) {
+            return new Choice("CountingSort", new CountingSort(),
+                    "the value range is at most " + t.countingRangePerValue() + " x n", p);
+        }
+        if ((long) p.runs() * t.sortedRunLength() <= n) {
+            return new Choice("AdaptiveMergeSort", new AdaptiveMergeSort(),
+                    "runs average " + n / p.runs() + " values", p);
+        }
+        if (p.inversions() <= t.sortedInversions()) {
+            return new Choice("AdaptiveMergeSort", new AdaptiveMergeSort(),
+                    "few sampled pairs are out of order", p);
+        }
+        if (n >= t.parallelMin() && processors > 1) {
+            return new Choice("ParallelQuickSort", new ParallelQuickSort(),
+                    "n >= " + t.parallelMin() + " on " + processors + " cores", p);
+        }
+        if (n >= t.radixMin()) {
+            return new Choice("RadixSort", new RadixSort(), "n >= " + t.radixMin() + " and the input is unordered", p);
+        }
+        return new Choice("AdaptiveMergeSort", new AdaptiveMergeSort(), "n < " + t.radixMin(), p);
+    }
+
+    public static Profile profile(int[] data) {
+        int n = data.length;
+        if (n == 0) return new Profile(0, 0, 0, 0, 0, 0);
+        int min = data[0], max = data[0], runs = 0;
+        for (int start = 0; start < n; ) {
+            int end = start + 1;
+            if (end < n && data[end] < data[start]) {
+                while (end < n && data[end] < data[end - 1]) end++;
+            } else {
+                while (end < n && data[end] >= data[end - 1]) end++;
+            }
+            int first = data[start], last = data[end - 1];
+            min = Math.min(min, Math.min(first, last));
+            max = Math.max(max, Math.max(first, last));
+            runs++;
+            start = end;
+        }
+
+        int s = Math.min(n, Math.min(SAMPLE_SIZE, 2 + (int) Math.sqrt(n)));
+        int[] sample = new int[s];
+        for (int i = 0; i < s; i++) sample[i] = data[(int) ((long) i * n / s)];
+        long inverted = 0;
+        for (int i = 0; i < s; i++) {
+            for (int j = i + 1; j < s; j++) {
+                if (sample[j] < sample[i]) inverted++;
+            }
+        }
+        InsertionSort.sort(sample, 0, s);
+        int duplicates = 0;
+        for (int i = 1; i < s; i++) {
+            if (sample[i] == sample[i - 1]) duplicates++;
+        }
+        double pairs = s < 2 ? 1 : s * (s - 1) / 2.0;
+        return new Profile(n, min, max, runs, inverted / pairs, s < 2 ? 0 : duplicates / (double) (s - 1));
+    }
+}
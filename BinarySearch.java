@@ -1,16 +1,75 @@
-import java.util.Collections;
-import java.util.List;
+import java.util.stream.IntStream;
 
 public class BinarySearch implements SearchAlgorithm {
-    public int search(List<Integer> data, int target) {
-        Collections.sort(data);
-        int left = 0, right = data.size() - 1;
-        while (left <= right) {
-            int mid = (left + right) / 2;
-            if (data.get(mid) == target) return mid;
-            else if (data.get(mid) < target) left = mid + 1;
-            else right = mid - 1;
+    static final int PARALLEL_BATCH = 1 << 16;
+
+    // Index of the key's first occurrence in sorted data, or -1, so a
+    // single lookup agrees with searchAll on duplicates.
+    public int search(int[] data, int key) {
+        return find(data, key);
+    }
+
+    // Batch lookup over sorted data. Each result is the index of the key's
+    // first occurrence, or -1. Sorted key batches that are large relative to
+    // the data are answered with a single merge-join pass; others use a
+    // branchless search per key. Large batches are split across threads.
+    @Override
+    public int[] searchAll(int[] data, int[] keys) {
+        int[] results = new int[keys.length];
+        boolean merge = SortedIntIndex.isSorted(keys) && (long) keys.length * log2(data.length + 1) > data.length;
+        forEachChunk(keys.length, (from, to) -> {
+            if (merge) mergeJoin(data, keys, results, from, to);
+            else for (int i = from; i < to; i++) results[i] = find(data, keys[i]);
+        });
+        return results;
+    }
+
+    public String getComplexity() {
+        return "O(log n)";
+    }
+
+    // Branchless lower bound: the loop body compiles to a conditional move,
+    // so there is no mispredicted branch per level.
+    static int lowerBound(int[] data, int key) {
+        int base = 0, length = data.length;
+        if (length == 0) return 0;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = OpCounter.less(data[base + half - 1], key) ? base + half : base;
+            length -= half;
         }
-        return -1;
+        return OpCounter.less(data[base], key) ? base + 1 : base;
+    }
+
+    static int find(int[] data, int key) {
+        int i = lowerBound(data, key);
+        return i < data.length && OpCounter.equal(data[i], key) ? i : -1;
+    }
+
+    private static void mergeJoin(int[] data, int[] keys, int[] results, int from, int to) {
+        int i = from < to ? lowerBound(data, keys[from]) : 0;
+        for (int k = from; k < to; k++) {
+            int key = keys[k];
+            while (i < data.length && OpCounter.less(data[i], key)) i++;
+            results[k] = i < data.length && data[i] == key ? i : -1;
+        }
+    }
+
+    interface RangeTask {
+        void run(int from, int to);
+    }
+
+    static void forEachChunk(int length, RangeTask task) {
+        if (length < PARALLEL_BATCH) {
+            task.run(0, length);
+            return;
+        }
+        int chunks = Math.min(length / (PARALLEL_BATCH / 4), Runtime.getRuntime().availableProcessors() * 4);
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                task.run((int) ((long) length * c / chunks), (int) ((long) length * (c + 1) / chunks)));
+    }
+
+    private static int log2(int n) {
+        return 32 - Integer.numberOfLeadingZeros(n);
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,26 @@
-import java.util.List;
-
 public class BubbleSort implements SortAlgorithm {
-    public void sort(List<Integer> data) {
-        int n = data.size();
-        for (int i = 0; i < n - 1; i++)
-            for (int j = 0; j < n - i - 1; j++)
-                if (data.get(j) > data.get(j + 1)) {
-                    int temp = data.get(j);
-                    data.set(j, data.get(j + 1));
-                    data.set(j + 1, temp);
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    // Each pass settles one more element at the end.
+    public void sort(int[] data, ProgressListener listener) {
+        int n = data.length;
+        for (int i = 0; i < n - 1; i++) {
+            listener.progress(i, n);
+            for (int j = 0; j < n - i - 1; j++) {
+                if (OpCounter.less(data[j + 1], data[j])) {
+                    OpCounter.swap();
+                    int temp = data[j];
+                    data[j] = data[j + 1];
+                    data[j + 1] = temp;
                 }
+            }
+        }
+        listener.progress(n, n);
+    }
+
+    public String getComplexity() {
+        return "O(n^2)";
     }
-}
\ No newline at end of file
+}
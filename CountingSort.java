@@ -0,0 +1,58 @@
+import java.util.Arrays;
+
+/*
+ * Counting sort for values whose range is small next to their count: one
+ * pass finds the range, one counts every value and one writes the values
+ * back in order, with no comparisons between elements. A range wider than
+ * MAX_RANGE would need too large a count table, so it goes to RadixSort.
+ */
+public class CountingSort implements SortAlgorithm {
+    static final int MAX_RANGE = 1 << 24;
+
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    // Progress is reported between the three passes.
+    public void sort(int[] data, ProgressListener listener) {
+        if (data.length < 2) return;
+        listener.progress(0, 3);
+        int min = data[0], max = data[0];
+        for (int value : data) {
+            if (value < min) min = value;
+            else if (value > max) max = value;
+        }
+        listener.progress(1, 3);
+        sort(data, min, max, listener);
+    }
+
+    // Sorts data whose values all lie in [min, max].
+    static void sort(int[] data, int min, int max) {
+        sort(data, min, max, ProgressListener.NONE);
+    }
+
+    static void sort(int[] data, int min, int max, ProgressListener listener) {
+        long range = (long) max - min + 1;
+        if (range > MAX_RANGE) {
+            new RadixSort().sort(data, listener);
+            return;
+        }
+        int[] counts = new int[(int) range];
+        OpCounter.allocateInts(range);
+        for (int value : data) counts[value - min]++;
+        listener.progress(2, 3);
+        int at = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int count = counts[i];
+            if (count == 0) continue;
+            Arrays.fill(data, at, at + count, min + i);
+            at += count;
+        }
+        OpCounter.move(data.length);
+        listener.progress(3, 3);
+    }
+
+    public String getComplexity() {
+        return "O(n + k), k = value range";
+    }
+}
@@ -0,0 +1,285 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/*
+ * External merge sort for inputs larger than the heap.
+ *
+ * The input is streamed through FileInputHandler into a run buffer. Every full
+ * buffer is sorted with an in-memory SortAlgorithm and spilled to a temporary
+ * binary file of raw ints. Runs are then merged through a min-heap, at most
+ * fanIn at a time, until one run is left; the last merge streams the output
+ * through IntTextWriter as text, one value per line. Counts are longs, so the
+ * total is not limited to 2^31 elements.
+ */
+public class ExternalMergeSort {
+    static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+    static final int DEFAULT_FAN_IN = 64;
+
+    private final SortAlgorithm runSorter;
+    private final long memoryBudget;
+    private final int runSize;
+    private final int fanIn;
+    private Path tempDirectory;
+
+    public ExternalMergeSort() {
+        this(new MergeSort(), DEFAULT_MEMORY_BUDGET);
+    }
+
+    public ExternalMergeSort(SortAlgorithm runSorter, long memoryBudget) {
+        // MergeSort-style sorters may need a second buffer of the same size.
+        this(runSorter, memoryBudget, (int) Math.min(memoryBudget / 8, Integer.MAX_VALUE - 8), DEFAULT_FAN_IN);
+    }
+
+    public ExternalMergeSort(SortAlgorithm runSorter, long memoryBudget, int runSize, int fanIn) {
+        if (runSize < 1) throw new IllegalArgumentException("Run size must be positive.");
+        if (fanIn < 2) throw new IllegalArgumentException("Fan-in must be at least 2.");
+        if ((long) runSize * Integer.BYTES > memoryBudget) {
+            throw new IllegalArgumentException("Run of " + runSize + " ints does not fit in a budget of " + memoryBudget + " bytes.");
+        }
+        this.runSorter = runSorter;
+        this.memoryBudget = memoryBudget;
+        this.runSize = runSize;
+        this.fanIn = fanIn;
+    }
+
+    public ExternalMergeSort tempDirectory(Path directory) {
+        this.tempDirectory = directory;
+        return this;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java ExternalMergeSort <input> <output> [memoryMB] [fanIn]");
+            System.exit(1);
+        }
+        long budget = args.length > 2 ? Long.parseLong(args[2]) << 20 : DEFAULT_MEMORY_BUDGET;
+        int fan = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_FAN_IN;
+        ExternalMergeSort sorter = new ExternalMergeSort(new MergeSort(), budget,
+                (int) Math.min(budget / 8, Integer.MAX_VALUE - 8), fan);
+        long start = System.nanoTime();
+        long count = sorter.sort(new File(args[0]), new File(args[1]));
+        System.out.println("Sorted " + count + " values in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    // Sorts every integer in the input file and returns how many were written.
+    public long sort(File input, File output) throws IOException {
+        Path workDir = tempDirectory != null
+                ? Files.createTempDirectory(tempDirectory, "extsort")
+                : Files.createTempDirectory("extsort");
+        List<Path> runs = new ArrayList<>();
+        try {
+            long count = createRuns(input, workDir, runs);
+            int generation = 0;
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path target = workDir.resolve("merge-" + generation + "-" + merged.size() + ".bin");
+                    try (RunWriter writer = new RunWriter(target, ioBufferBytes())) {
+                        merge(group, writer);
+                    }
+                    for (Path run : group) Files.delete(run);
+                    merged.add(target);
+                }
+                runs = merged;
+                generation++;
+            }
+            try (IntTextWriter writer = new IntTextWriter(FileChannel.open(output.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), ioBufferBytes(), IntTextWriter.BACKGROUND)) {
+                merge(runs, value -> {
+                    try {
+                        writer.write(value);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            return count;
+        } finally {
+            deleteWorkDirectory(workDir);
+        }
+    }
+
+    private long createRuns(File input, Path workDir, List<Path> runs) throws IOException {
+        int[] buffer = new int[runSize];
+        long[] count = {0};
+        int[] fill = {0};
+        try {
+            FileInputHandler.streamFromFile(input, value -> {
+                buffer[fill[0]++] = value;
+                count[0]++;
+                if (fill[0] == buffer.length) {
+                    spill(buffer, fill[0], workDir, runs);
+                    fill[0] = 0;
+                }
+            });
+            if (fill[0] > 0) spill(buffer, fill[0], workDir, runs);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    private void spill(int[] buffer, int length, Path workDir, List<Path> runs) {
+        int[] run = length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+        runSorter.sort(run);
+        Path target = workDir.resolve("run-" + runs.size() + ".bin");
+        try (RunWriter writer = new RunWriter(target, ioBufferBytes())) {
+            writer.write(run, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        runs.add(target);
+    }
+
+    // k-way merge: the heap holds reader indices ordered by each reader's head.
+    private void merge(List<Path> runs, IntConsumer out) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        int bufferBytes = (int) Math.max(4096, Math.min(memoryBudget / (k + 1), 1 << 24));
+        try {
+            int[] heap = new int[k];
+            int size = 0;
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), bufferBytes);
+                if (readers[i].advance()) heap[size++] = i;
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) siftDown(heap, size, i, readers);
+            while (size > 0) {
+                RunReader top = readers[heap[0]];
+                out.accept(top.head);
+                if (!top.advance()) heap[0] = heap[--size];
+                siftDown(heap, size, 0, readers);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, int i, RunReader[] readers) {
+        int item = heap[i];
+        int key = readers[item].head;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && readers[heap[child + 1]].head < readers[heap[child]].head) child++;
+            if (readers[heap[child]].head >= key) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = item;
+    }
+
+    private static void deleteWorkDirectory(Path workDir) throws IOException {
+        try (var files = Files.list(workDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(workDir);
+    }
+
+    private int ioBufferBytes() {
+        return (int) Math.max(4096, Math.min(memoryBudget / 16, 1 << 22));
+    }
+
+    private static final class RunWriter implements IntConsumer, AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private final IntBuffer ints;
+
+        RunWriter(Path path, int bufferBytes) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            bytes = ByteBuffer.allocateDirect(bufferBytes & ~3);
+            ints = bytes.asIntBuffer();
+        }
+
+        void write(int[] values, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                int n = Math.min(ints.remaining(), length - offset);
+                ints.put(values, offset, n);
+                offset += n;
+                if (!ints.hasRemaining()) flush();
+            }
+        }
+
+        @Override
+        public void accept(int value) {
+            ints.put(value);
+            if (!ints.hasRemaining()) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void flush() throws IOException {
+            bytes.position(0).limit(ints.position() * Integer.BYTES);
+            while (bytes.hasRemaining()) channel.write(bytes);
+            bytes.clear();
+            ints.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer bytes;
+        private final IntBuffer ints;
+        int head;
+
+        RunReader(Path path, int bufferBytes) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            bytes = ByteBuffer.allocateDirect(bufferBytes & ~3);
+            ints = bytes.asIntBuffer();
+            ints.limit(0);
+        }
+
+        boolean advance() throws IOException {
+            if (!ints.hasRemaining() && !refill()) return false;
+            head = ints.get();
+            return true;
+        }
+
+        private boolean refill() throws IOException {
+            bytes.clear();
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes) < 0) break;
+            }
+            int available = bytes.position() / Integer.BYTES;
+            ints.clear();
+            ints.limit(available);
+            return available > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * Binary search over an Eytzinger layout. Single lookups fall back to the
+ * plain binary search, since building the layout costs O(n); batches build it
+ * once and reuse it for every key.
+ */
+public class EytzingerSearch implements SearchAlgorithm {
+    public int search(int[] data, int key) {
+        return BinarySearch.find(data, key);
+    }
+
+    @Override
+    public int[] searchAll(int[] data, int[] keys) {
+        return new EytzingerLayout(data).searchAll(keys);
+    }
+
+    public String getComplexity() {
+        return "O(log n) per key, O(n) layout per batch";
+    }
+}
@@ -2,54 +2,78 @@
 
 // Import statements required for file handling
 import java.io.*;
-import java.util.*;
+import java.util.function.IntConsumer;
 import javax.swing.*;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
 import org.apache.poi.hwpf.HWPFDocument;
 import org.apache.poi.hwpf.extractor.WordExtractor;
-import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
 
 class FileInputHandler {
-    public static List<Integer> readFromFile(File file) throws IOException {
-        List<Integer> numbers = new ArrayList<>();
+    public IntList readFromFile() {
+        JFileChooser fileChooser = new JFileChooser();
+        if (fileChooser.showOpenDialog(null) != JFileChooser.APPROVE_OPTION) return null;
+        File file = fileChooser.getSelectedFile();
+        return ProgressDialog.run(null, "Reading " + file.getName() + "...", false, listener -> readFromFile(file));
+    }
+
+    // Parsed results are kept in the ParseCache, so reading an unchanged
+    // file again skips the text or Word parsing.
+    public static IntList readFromFile(File file) throws IOException {
+        if (file.getName().toLowerCase().endsWith(IntDataset.EXTENSION)) return IntDataset.read(file.toPath());
+        if (!ParseCache.ENABLED) return parse(file, null);
+        return ParseCache.defaultCache().load(file, FileInputHandler::parse);
+    }
+
+    // Reads a .txt file with an explicit number of parser threads.
+    public static IntList readFromFile(File file, int parallelism) throws IOException {
+        if (!file.getName().toLowerCase().endsWith(".txt")) return readFromFile(file);
+        ParseCache.Parser parser = (source, digest) -> MappedIntParser.parse(source.toPath(), parallelism, digest);
+        return ParseCache.ENABLED ? ParseCache.defaultCache().load(file, parser) : parser.parse(file, null);
+    }
+
+    // Text and .doc files are read front to back, so they feed digest (when
+    // there is one) for the ParseCache; .docx is read out of order and
+    // leaves it alone.
+    private static IntList parse(File file, ParseCache.SourceDigest digest) throws IOException {
         String fileName = file.getName().toLowerCase();
+        if (fileName.endsWith(".txt")) return MappedIntParser.parse(file.toPath(), digest);
+        IntList numbers = new IntList();
+        if (fileName.endsWith(".doc") && digest != null) {
+            try (InputStream in = digest.wrap(new FileInputStream(file))) {
+                readDoc(in, numbers);
+            }
+        } else {
+            streamFromFile(file, numbers);
+        }
+        return numbers;
+    }
 
+    // Feeds every value in the file to the sink. Text files are streamed, so
+    // callers can process inputs that do not fit in memory.
+    public static void streamFromFile(File file, IntConsumer sink) throws IOException {
+        String fileName = file.getName().toLowerCase();
         if (fileName.endsWith(".txt")) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    extractIntegersFromLine(line, numbers);
-                }
-            }
-        } else if (fileName.endsWith(".doc")) {
-            try (FileInputStream fis = new FileInputStream(file)) {
-                HWPFDocument doc = new HWPFDocument(fis);
-                WordExtractor extractor = new WordExtractor(doc);
-                for (String paragraph : extractor.getParagraphText()) {
-                    extractIntegersFromLine(paragraph, numbers);
-                }
-            }
+            MappedIntParser.parse(file.toPath(), sink);
+        } else if (fileName.endsWith(IntDataset.EXTENSION)) {
+            IntDataset.stream(file.toPath(), sink);
         } else if (fileName.endsWith(".docx")) {
-            try (FileInputStream fis = new FileInputStream(file)) {
-                XWPFDocument docx = new XWPFDocument(fis);
-                XWPFWordExtractor extractor = new XWPFWordExtractor(docx);
-                extractIntegersFromLine(extractor.getText(), numbers);
+            WordIntReader.readDocx(file, sink);
+        } else if (fileName.endsWith(".doc")) {
+            try (InputStream in = new FileInputStream(file)) {
+                readDoc(in, sink);
             }
         } else {
-            throw new IllegalArgumentException("Unsupported file type. Please upload .txt, .doc, or .docx only.");
+            throw new IllegalArgumentException("Unsupported file type. Please upload .txt, .doc, .docx or " + IntDataset.EXTENSION + " only.");
         }
-
-        return numbers;
     }
 
-    private static void extractIntegersFromLine(String line, List<Integer> numbers) {
-        String[] tokens = line.trim().split("[ ,]+");
-        for (String token : tokens) {
-            try {
-                numbers.add(Integer.parseInt(token));
-            } catch (NumberFormatException e) {
-                // Skip invalid integers, or log if needed
-            }
+    // Word 97 binary files go through the HWPF model, paragraph by paragraph.
+    private static void readDoc(InputStream in, IntConsumer sink) throws IOException {
+        WordExtractor extractor = new WordExtractor(new HWPFDocument(in));
+        IntTokenizer tokenizer = new IntTokenizer(sink);
+        for (String paragraph : extractor.getParagraphText()) {
+            tokenizer.feed(paragraph);
+            tokenizer.separator();
         }
+        tokenizer.finish();
     }
 }
@@ -0,0 +1,249 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Command-line entry point that runs the sort and search engine without any
+ * Swing dialogs, so it works on servers under java.awt.headless=true.
+ *
+ *   java HeadlessRunner --sort intro --input data.txt --output sorted.txt
+ *   java HeadlessRunner --search binary --input data.txt --keys 5,17,42
+ *   java HeadlessRunner --jobs jobs.txt
+ *
+ * A jobs file holds one job per line in the same option syntax; all jobs run
+ * in this JVM so the JIT stays warm between them. Results stream through
+ * IntTextWriter to the output file or, with "-", to stdout; an output
+ * ending in ".dsai" gets the sorted values or the search results as a
+ * binary IntDataset instead (one input only). Timings go to stderr.
+ */
+public class HeadlessRunner {
+    private final PrintStream log;
+
+    HeadlessRunner(PrintStream log) {
+        this.log = log;
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        try {
+            System.exit(new HeadlessRunner(System.err).run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(usage());
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    static String usage() {
+        return String.join("\n",
+                "Usage: java HeadlessRunner (--sort <alg> | --search <alg>) --input <file> [--input <file>...]",
+                "                           [--keys k1,k2,... | --keys-file <file>] [--output <file>|<file.dsai>|-]",
+                "                           [--repeat <n>] [--print full|summary]",
+                "       java HeadlessRunner --jobs <file>     one job per line, same options",
+                "Sorts:    " + AlgorithmRegistry.sorts().keySet(),
+                "Searches: " + AlgorithmRegistry.searches().keySet(),
+                "Parsed inputs are cached on disk only with -Ddsa.cache=true (-Ddsa.cache.dir, -Ddsa.cache.maxBytes).");
+    }
+
+    record Job(boolean sort, String algorithm, List<File> inputs, int[] keys, String output, int repeat, boolean full) {
+    }
+
+    int run(String[] args) throws IOException {
+        if (args.length == 0 || args[0].equals("--help")) {
+            log.println(usage());
+            return args.length == 0 ? 2 : 0;
+        }
+        if (!args[0].equals("--jobs")) {
+            runJob(parseJob(args));
+            return 0;
+        }
+        if (args.length < 2) throw new IllegalArgumentException("--jobs needs a file");
+        List<String[]> jobs = new ArrayList<>();
+        for (String line : Files.readAllLines(Path.of(args[1]))) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) jobs.add(trimmed.split("\\s+"));
+        }
+        // A failing job, whether a bad line or an exception from the
+        // algorithm, is reported and skipped; the rest of the batch still runs.
+        int failures = 0;
+        for (int i = 0; i < jobs.size(); i++) {
+            try {
+                runJob(parseJob(jobs.get(i)));
+            } catch (IOException | IllegalArgumentException e) {
+                log.println("Job " + (i + 1) + " failed: " + e.getMessage());
+                failures++;
+            } catch (RuntimeException e) {
+                log.println("Job " + (i + 1) + " failed: " + e);
+                failures++;
+            }
+        }
+        return failures == 0 ? 0 : 1;
+    }
+
+    static Job parseJob(String[] args) throws IOException {
+        Boolean sort = null;
+        String algorithm = null, output = "-";
+        List<File> inputs = new ArrayList<>();
+        int[] keys = null;
+        int repeat = 1;
+        boolean full = true;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + option);
+            String value = args[++i];
+            switch (option) {
+                case "--sort" -> {
+                    sort = true;
+                    algorithm = value;
+                }
+                case "--search" -> {
+                    sort = false;
+                    algorithm = value;
+                }
+                case "--input" -> inputs.add(new File(value));
+                case "--keys" -> keys = parseKeys(value);
+                case "--keys-file" -> keys = FileInputHandler.readFromFile(new File(value)).toArray();
+                case "--output" -> output = value;
+                case "--repeat" -> repeat = Integer.parseInt(value);
+                case "--print" -> full = switch (value) {
+                    case "full" -> true;
+                    case "summary" -> false;
+                    default -> throw new IllegalArgumentException("--print must be full or summary");
+                };
+                default -> throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if (sort == null) throw new IllegalArgumentException("Choose --sort or --search");
+        if (inputs.isEmpty()) throw new IllegalArgumentException("At least one --input is required");
+        if (!sort && keys == null) throw new IllegalArgumentException("--search needs --keys or --keys-file");
+        if (repeat < 1) throw new IllegalArgumentException("--repeat must be at least 1");
+        if (binary(output) && inputs.size() > 1) {
+            throw new IllegalArgumentException("A " + IntDataset.EXTENSION + " output holds one result; use one --input");
+        }
+        // Resolve now so a bad name fails before any input is read.
+        if (sort) AlgorithmRegistry.sort(algorithm);
+        else AlgorithmRegistry.search(algorithm);
+        return new Job(sort, algorithm, inputs, keys, output, repeat, full);
+    }
+
+    private static int[] parseKeys(String text) {
+        IntList keys = new IntList();
+        IntTokenizer tokenizer = new IntTokenizer(keys);
+        tokenizer.feed(text);
+        tokenizer.finish();
+        return keys.toArray();
+    }
+
+    private void runJob(Job job) throws IOException {
+        if (binary(job.output())) {
+            File input = job.inputs().get(0);
+            long loadStart = System.nanoTime();
+            int[] data = FileInputHandler.readFromFile(input).array();
+            long loadTime = System.nanoTime() - loadStart;
+            int[] result = job.sort() ? runSort(job, data, null, input, loadTime)
+                    : runSearch(job, data, null, input, loadTime);
+            IntDataset.write(Path.of(job.output()), result, result.length, IntDataset.Encoding.RAW);
+            return;
+        }
+        try (IntTextWriter out = openOutput(job.output())) {
+            for (File input : job.inputs()) {
+                long loadStart = System.nanoTime();
+                int[] data = FileInputHandler.readFromFile(input).array();
+                long loadTime = System.nanoTime() - loadStart;
+                out.write("# " + input.getPath() + " (" + data.length + " values)\n");
+                if (job.sort()) runSort(job, data, out, input, loadTime);
+                else runSearch(job, data, out, input, loadTime);
+            }
+        }
+    }
+
+    // Returns the sorted data; writes it to out unless out is null.
+    private int[] runSort(Job job, int[] data, IntTextWriter out, File input, long loadTime) throws IOException {
+        SortAlgorithm algorithm = AlgorithmRegistry.sort(job.algorithm());
+        int[] work = data;
+        long[] times = new long[job.repeat()];
+        for (int r = 0; r < job.repeat(); r++) {
+            work = r + 1 < job.repeat() ? data.clone() : data;
+            long start = System.nanoTime();
+            algorithm.sort(work);
+            times[r] = System.nanoTime() - start;
+        }
+        if (out != null && job.full()) out.write(work, 0, work.length);
+        report(algorithm.getClass().getSimpleName(), algorithm.getComplexity(), input, data.length, loadTime, times);
+        return work;
+    }
+
+    // Returns the index found for each key; writes them to out unless out is null.
+    private int[] runSearch(Job job, int[] data, IntTextWriter out, File input, long loadTime) throws IOException {
+        SearchAlgorithm algorithm = AlgorithmRegistry.search(job.algorithm());
+        // Sorted-data searches run on the index's sorted values, built before
+        // timing, and report indices into the original input.
+        boolean linear = algorithm instanceof SequentialSearch || algorithm instanceof ParallelSequentialSearch;
+        SortedIntIndex index = linear ? null : SortedIntIndex.build(data);
+        int[] keys = job.keys();
+        int[] results = null;
+        long[] times = new long[job.repeat()];
+        for (int r = 0; r < job.repeat(); r++) {
+            long start = System.nanoTime();
+            results = index == null ? algorithm.searchAll(data, keys) : index.searchAll(algorithm, keys);
+            times[r] = System.nanoTime() - start;
+        }
+        if (out != null) {
+            int hits = 0;
+            for (int k = 0; k < keys.length; k++) {
+                if (results[k] >= 0) hits++;
+                if (job.full()) out.write(keys[k], results[k]);
+            }
+            if (!job.full()) out.write("hits " + hits + " of " + keys.length + "\n");
+        }
+        report(algorithm.getClass().getSimpleName(), algorithm.getComplexity(), input, data.length, loadTime, times);
+        return results;
+    }
+
+    private void report(String name, String complexity, File input, int size, long loadTime, long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        log.printf("%s on %s (n=%d): load %d ms, run p50 %d us, min %d us over %d run(s), theoretical %s%n",
+                name, input.getName(), size, loadTime / 1_000_000, sorted[sorted.length / 2] / 1_000,
+                sorted[0] / 1_000, times.length, complexity.replace("\n", "; "));
+    }
+
+    private static boolean binary(String output) {
+        return output.endsWith(IntDataset.EXTENSION);
+    }
+
+    private static IntTextWriter openOutput(String output) throws IOException {
+        if (output.equals("-")) {
+            // Leave stdout open for later jobs.
+            WritableByteChannel stdout = Channels.newChannel(System.out);
+            return new IntTextWriter(new WritableByteChannel() {
+                @Override
+                public int write(ByteBuffer source) throws IOException {
+                    return stdout.write(source);
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return stdout.isOpen();
+                }
+
+                @Override
+                public void close() {
+                    System.out.flush();
+                }
+            }, 1 << 16, false);
+        }
+        return new IntTextWriter(Path.of(output));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * In-place heap sort. The max-heap is built bottom-up, then each extraction
+ * uses Floyd's bottom-up sift: the hole left at the root is walked down to a
+ * leaf along the larger children (one comparison per level), and the value
+ * taken from the end of the heap is sifted up from there. That value is
+ * usually small, so it rarely climbs far, and the extraction costs about
+ * log n comparisons instead of the 2 log n of a standard sift-down.
+ */
+public class HeapSort implements SortAlgorithm {
+    public void sort(int[] data) {
+        sort(data, 0, data.length, ProgressListener.NONE);
+    }
+
+    public void sort(int[] data, ProgressListener listener) {
+        sort(data, 0, data.length, listener);
+    }
+
+    // Sorts data[from, to) in place.
+    static void sort(int[] data, int from, int to) {
+        sort(data, from, to, ProgressListener.NONE);
+    }
+
+    // Progress is reported every 4096 extractions.
+    private static void sort(int[] data, int from, int to, ProgressListener listener) {
+        int n = to - from;
+        listener.progress(0, n);
+        for (int i = n / 2 - 1; i >= 0; i--) heapify(data, from, n, i);
+        for (int i = n - 1; i > 0; i--) {
+            if ((i & 0xFFF) == 0) listener.progress(n - i, n);
+            int last = data[from + i];
+            data[from + i] = data[from];
+            OpCounter.move(2);
+            siftFromRoot(data, from, i, last);
+        }
+        listener.progress(n, n);
+    }
+
+    // Sifts data[base + i] down the max-heap data[base, base + n), moving a
+    // hole instead of swapping.
+    private static void heapify(int[] data, int base, int n, int i) {
+        int value = data[base + i];
+        int child;
+        while ((child = 2 * i + 1) < n) {
+            if (child + 1 < n && OpCounter.less(data[base + child], data[base + child + 1])) child++;
+            if (!OpCounter.less(value, data[base + child])) break;
+            data[base + i] = data[base + child];
+            OpCounter.move();
+            i = child;
+        }
+        data[base + i] = value;
+    }
+
+    // Refills the empty root of the heap data[base, base + n) with value,
+    // bottom-up: walk the hole to a leaf, then sift value up from it.
+    private static void siftFromRoot(int[] data, int base, int n, int value) {
+        int hole = 0, child;
+        while ((child = 2 * hole + 1) < n) {
+            if (child + 1 < n && OpCounter.less(data[base + child], data[base + child + 1])) child++;
+            data[base + hole] = data[base + child];
+            OpCounter.move();
+            hole = child;
+        }
+        while (hole > 0) {
+            int parent = (hole - 1) >>> 1;
+            if (!OpCounter.less(data[base + parent], value)) break;
+            data[base + hole] = data[base + parent];
+            OpCounter.move();
+            hole = parent;
+        }
+        data[base + hole] = value;
+    }
+
+    public String getComplexity() {
+        return "O(n log n)";
+    }
+}
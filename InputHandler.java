@@ -0,0 +1,19 @@
+import javax.swing.*;
+
+class InputHandler {
+    public IntList getManualInput() {
+        String input = JOptionPane.showInputDialog("Enter integers separated by spaces or commas:");
+        if (input == null) return null;
+        IntList numbers = new IntList();
+        for (String token : input.trim().split("[ ,]+")) {
+            if (token.isEmpty()) continue;
+            try {
+                numbers.add(Integer.parseInt(token));
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(null, "Invalid integer: " + token, "Error", JOptionPane.ERROR_MESSAGE);
+                return null;
+            }
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Insertion sort, also the small-range cutoff for the quick sorts. Ranges of
+ * NETWORK_MIN to NETWORK_MAX ints go through a sorting network instead:
+ * Batcher's odd-even merge network for 32 inputs, pruned to the range length
+ * (a pruned comparator would only ever meet an implicit +infinity pad). Each
+ * comparator is a branch-free min/max pair, so unlike insertion sort there
+ * are no data-dependent branches to mispredict on random input.
+ */
+public class InsertionSort implements SortAlgorithm {
+    static final int NETWORK_MIN = 8;
+    static final int NETWORK_MAX = 32;
+    // NETWORKS[n] holds the comparators for n inputs as (low, high) pairs.
+    private static final int[][] NETWORKS = buildNetworks();
+
+    public void sort(int[] data) {
+        sort(data, 0, data.length);
+    }
+
+    // Sorts in blocks so progress is reported without a call per element.
+    public void sort(int[] data, ProgressListener listener) {
+        int step = Math.max(1, data.length >>> 10);
+        for (int done = 0; done < data.length; done += step) {
+            listener.progress(done, data.length);
+            insert(data, 0, done, Math.min(done + step, data.length));
+        }
+        listener.progress(data.length, data.length);
+    }
+
+    // Sorts data[from, to) in place; used as the small-range cutoff by other sorts.
+    static void sort(int[] data, int from, int to) {
+        int n = to - from;
+        if (n >= NETWORK_MIN && n <= NETWORK_MAX) network(data, from, NETWORKS[n]);
+        else insert(data, from, from + 1, to);
+    }
+
+    private static void network(int[] data, int from, int[] comparators) {
+        for (int c = 0; c < comparators.length; c += 2) {
+            int i = from + comparators[c], j = from + comparators[c + 1];
+            int a = data[i], b = data[j];
+            OpCounter.compare();
+            data[i] = Math.min(a, b);
+            data[j] = Math.max(a, b);
+        }
+    }
+
+    private static int[][] buildNetworks() {
+        IntList full = new IntList();
+        for (int p = 1; p < NETWORK_MAX; p <<= 1) {
+            for (int k = p; k >= 1; k >>= 1) {
+                for (int j = k % p; j + k < NETWORK_MAX; j += 2 * k) {
+                    for (int i = 0; i < Math.min(k, NETWORK_MAX - j - k); i++) {
+                        if ((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+                            full.add(i + j);
+                            full.add(i + j + k);
+                        }
+                    }
+                }
+            }
+        }
+        int[][] networks = new int[NETWORK_MAX + 1][];
+        for (int n = NETWORK_MIN; n <= NETWORK_MAX; n++) {
+            IntList pruned = new IntList();
+            for (int c = 0; c < full.size(); c += 2) {
+                if (full.get(c + 1) < n) {
+                    pruned.add(full.get(c));
+                    pruned.add(full.get(c + 1));
+                }
+            }
+            networks[n] = pruned.toArray();
+        }
+        return networks;
+    }
+
+    // Inserts data[start, to) into the already sorted data[from, start).
+    private static void insert(int[] data, int from, int start, int to) {
+        for (int i = Math.max(start, from + 1); i < to; i++) {
+            int key = data[i];
+            int j = i - 1;
+            while (j >= from && OpCounter.less(key, data[j])) {
+                data[j + 1] = data[j];
+                OpCounter.move();
+                j--;
+            }
+            data[j + 1] = key;
+        }
+    }
+
+    public String getComplexity() {
+        return "O(n^2)";
+    }
+}
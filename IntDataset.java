@@ -0,0 +1,273 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32C;
+
+/*
+ * Compact binary file of ints (".dsai"). A 64-byte little-endian header
+ *
+ *   0  magic "DSAI"        4  version (short)   6  encoding (byte)
+ *   8  value count (long)  16 payload bytes     24 CRC32C of the payload
+ *   28 reserved            32 source size       40 source mtime (millis)
+ *   48 source hash (first 8 bytes of its SHA-256)
+ *
+ * is followed by the payload: raw 4-byte ints, or the differences between
+ * neighbours zig-zag encoded as varints, which takes one byte per value on
+ * sorted or slowly changing data. The source fields are filled in by
+ * ParseCache and are -1/0 otherwise. Raw payloads start at offset 64, so they
+ * are loaded by mapping the file and bulk-copying, with no parsing, or used
+ * in place through map() or, beyond 2^31 values or for writing,
+ * OffHeapIntArray.map(). Reads verify the checksum.
+ */
+public final class IntDataset {
+    public static final String EXTENSION = ".dsai";
+
+    static final int MAGIC = 0x49415344;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    private static final int CHUNK_BYTES = 1 << 20;
+    private static final long WINDOW_SIZE = MappedIntParser.WINDOW_SIZE;
+
+    public enum Encoding {
+        RAW, DELTA_VARINT
+    }
+
+    public record Header(Encoding encoding, long count, long payloadBytes, int checksum,
+                         long sourceHash, long sourceSize, long sourceModified) {
+    }
+
+    private IntDataset() {
+    }
+
+    public static void write(Path path, int[] values, int count, Encoding encoding) throws IOException {
+        write(path, values, count, encoding, 0, -1, 0);
+    }
+
+    static void write(Path path, int[] values, int count, Encoding encoding,
+                      long sourceHash, long sourceSize, long sourceModified) throws IOException {
+        if (count < 0 || count > values.length) throw new IllegalArgumentException("Bad count: " + count);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_SIZE);
+            CRC32C crc = new CRC32C();
+            ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long payload = 0;
+            if (encoding == Encoding.RAW) {
+                for (int i = 0; i < count; ) {
+                    int n = Math.min(count - i, CHUNK_BYTES / Integer.BYTES);
+                    chunk.clear();
+                    chunk.asIntBuffer().put(values, i, n);
+                    chunk.limit(n * Integer.BYTES);
+                    payload += flush(channel, chunk, crc);
+                    i += n;
+                }
+            } else {
+                chunk.clear();
+                int previous = 0;
+                for (int i = 0; i < count; i++) {
+                    if (chunk.remaining() < 5) {
+                        chunk.flip();
+                        payload += flush(channel, chunk, crc);
+                        chunk.clear();
+                    }
+                    int delta = values[i] - previous;
+                    previous = values[i];
+                    int zigzag = (delta << 1) ^ (delta >> 31);
+                    while ((zigzag & ~0x7F) != 0) {
+                        chunk.put((byte) (zigzag & 0x7F | 0x80));
+                        zigzag >>>= 7;
+                    }
+                    chunk.put((byte) zigzag);
+                }
+                chunk.flip();
+                payload += flush(channel, chunk, crc);
+            }
+
+            writeHeader(channel, new Header(encoding, count, payload, (int) crc.getValue(),
+                    sourceHash, sourceSize, sourceModified));
+        }
+    }
+
+    // Creates a raw dataset of count zeros, for OffHeapIntArray.map to fill.
+    public static void create(Path path, long count) throws IOException {
+        if (count < 0) throw new IllegalArgumentException("Bad count: " + count);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long payload = count * Integer.BYTES;
+            // Writing the last byte sizes the file; the payload stays sparse.
+            if (payload > 0) channel.write(ByteBuffer.allocate(1), HEADER_SIZE + payload - 1);
+            writeHeader(channel, new Header(Encoding.RAW, count, payload, 0, 0, -1, 0));
+            updateChecksum(channel, path);
+        }
+    }
+
+    // Recomputes the payload checksum of a raw dataset after its values were
+    // changed in place.
+    public static void updateChecksum(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            updateChecksum(channel, path);
+        }
+    }
+
+    private static void updateChecksum(FileChannel channel, Path path) throws IOException {
+        Header header = readHeader(channel, path);
+        if (header.encoding() != Encoding.RAW) throw new IOException(path + " is not raw-encoded");
+        CRC32C crc = new CRC32C();
+        for (long position = 0; position < header.payloadBytes(); position += WINDOW_SIZE) {
+            long length = Math.min(WINDOW_SIZE, header.payloadBytes() - position);
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + position, length));
+        }
+        writeHeader(channel, new Header(header.encoding(), header.count(), header.payloadBytes(), (int) crc.getValue(),
+                header.sourceHash(), header.sourceSize(), header.sourceModified()));
+    }
+
+    private static void writeHeader(FileChannel channel, Header h) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC).putShort(4, VERSION).put(6, (byte) h.encoding().ordinal())
+                .putLong(8, h.count()).putLong(16, h.payloadBytes()).putInt(24, h.checksum())
+                .putLong(32, h.sourceSize()).putLong(40, h.sourceModified()).putLong(48, h.sourceHash());
+        while (header.hasRemaining()) channel.write(header, header.position());
+    }
+
+    private static int flush(FileChannel channel, ByteBuffer chunk, CRC32C crc) throws IOException {
+        int bytes = chunk.remaining();
+        crc.update(chunk.duplicate());
+        while (chunk.hasRemaining()) channel.write(chunk);
+        return bytes;
+    }
+
+    public static Header readHeader(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readHeader(channel, path);
+        }
+    }
+
+    private static Header readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC) throw new IOException(path + " is not a dataset file");
+        if (header.getShort(4) != VERSION) throw new IOException("Unsupported dataset version " + header.getShort(4));
+        int encoding = header.get(6);
+        long count = header.getLong(8), payload = header.getLong(16);
+        if (encoding < 0 || encoding >= Encoding.values().length || count < 0 || count > Long.MAX_VALUE / Integer.BYTES
+                || payload < 0 || HEADER_SIZE + payload > channel.size()) {
+            throw new IOException(path + " has a damaged header");
+        }
+        return new Header(Encoding.values()[encoding], count, payload, header.getInt(24),
+                header.getLong(48), header.getLong(32), header.getLong(40));
+    }
+
+    public static IntList read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, path);
+            if (header.count() > Integer.MAX_VALUE - 8) {
+                throw new IOException(path + " holds " + header.count() + " values, too many for an array; use OffHeapIntArray.map");
+            }
+            int count = (int) header.count();
+            int[] values = new int[count];
+            if (header.encoding() == Encoding.RAW) {
+                if (header.payloadBytes() != (long) count * Integer.BYTES) throw new IOException(path + " has a damaged header");
+                CRC32C crc = new CRC32C();
+                int filled = 0;
+                for (long position = 0; position < header.payloadBytes(); position += WINDOW_SIZE) {
+                    long length = Math.min(WINDOW_SIZE, header.payloadBytes() - position);
+                    MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + position, length);
+                    crc.update(window.duplicate());
+                    int n = (int) (length / Integer.BYTES);
+                    window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(values, filled, n);
+                    filled += n;
+                }
+                verify(path, header, crc);
+            } else {
+                int[] filled = {0};
+                decode(channel, path, header, value -> values[filled[0]++] = value);
+            }
+            return IntList.wrap(values);
+        }
+    }
+
+    // Feeds every value to sink. A damaged file is reported once the payload
+    // has been read, after its values were already delivered.
+    public static void stream(Path path, IntConsumer sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, path);
+            if (header.encoding() == Encoding.DELTA_VARINT) {
+                decode(channel, path, header, sink);
+                return;
+            }
+            CRC32C crc = new CRC32C();
+            for (long position = 0; position < header.payloadBytes(); position += WINDOW_SIZE) {
+                long length = Math.min(WINDOW_SIZE, header.payloadBytes() - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + position, length);
+                crc.update(window.duplicate());
+                IntBuffer ints = window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                for (int i = 0; i < ints.limit(); i++) sink.accept(ints.get(i));
+            }
+            verify(path, header, crc);
+        }
+    }
+
+    // Read-only view of a raw payload straight over the mapped file; nothing
+    // is copied and the checksum is not checked. Payloads up to 2 GB.
+    public static IntBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, path);
+            if (header.encoding() != Encoding.RAW) throw new IOException(path + " is not raw-encoded");
+            if (header.payloadBytes() > Integer.MAX_VALUE) throw new IOException(path + " is too large to map at once");
+            return channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, header.payloadBytes())
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+    }
+
+    private static void decode(FileChannel channel, Path path, Header header, IntConsumer sink) throws IOException {
+        CRC32C crc = new CRC32C();
+        long remaining = header.count();
+        int previous = 0, accumulator = 0, shift = 0;
+        for (long position = 0; position < header.payloadBytes(); position += WINDOW_SIZE) {
+            long length = Math.min(WINDOW_SIZE, header.payloadBytes() - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + position, length);
+            crc.update(window.duplicate());
+            // A varint may continue into the next window; the state carries over.
+            for (int i = 0; i < length; i++) {
+                int b = window.get(i);
+                accumulator |= (b & 0x7F) << shift;
+                if (b < 0) {
+                    shift += 7;
+                    if (shift > 28) throw new IOException(path + " has a malformed varint");
+                    continue;
+                }
+                if (remaining-- == 0) throw new IOException(path + " holds more values than its header says");
+                previous += (accumulator >>> 1) ^ -(accumulator & 1);
+                sink.accept(previous);
+                accumulator = 0;
+                shift = 0;
+            }
+        }
+        if (remaining != 0 || shift != 0) throw new IOException(path + " is truncated");
+        verify(path, header, crc);
+    }
+
+    private static void verify(Path path, Header header, CRC32C crc) throws IOException {
+        if ((int) crc.getValue() != header.checksum()) throw new IOException(path + " failed its checksum");
+    }
+
+    // java IntDataset <input> <output.dsai> [--varint]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java IntDataset <input.txt|.doc|.docx|.dsai> <output" + EXTENSION + "> [--varint]");
+            System.exit(2);
+        }
+        IntList values = FileInputHandler.readFromFile(new File(args[0]));
+        Encoding encoding = args.length > 2 && args[2].equals("--varint") ? Encoding.DELTA_VARINT : Encoding.RAW;
+        write(Path.of(args[1]), values.array(), values.size(), encoding);
+        System.out.println("Wrote " + values.size() + " values to " + args[1] + " (" + encoding + ")");
+    }
+}
@@ -0,0 +1,115 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/*
+ * Growable list of primitive ints. Values live in a single int[] so a dataset
+ * costs 4 bytes per element, and get/set never box.
+ */
+public class IntList implements IntConsumer {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int[] elements;
+    private int size;
+
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntList(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+        elements = new int[initialCapacity];
+    }
+
+    public static IntList of(int... values) {
+        IntList list = new IntList(values.length);
+        list.addAll(values, 0, values.length);
+        return list;
+    }
+
+    // Uses values as the backing array without copying.
+    public static IntList wrap(int[] values) {
+        IntList list = new IntList(0);
+        list.elements = values;
+        list.size = values.length;
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public void set(int index, int value) {
+        checkIndex(index);
+        elements[index] = value;
+    }
+
+    public void add(int value) {
+        if (size == elements.length) grow(size + 1);
+        elements[size++] = value;
+    }
+
+    @Override
+    public void accept(int value) {
+        add(value);
+    }
+
+    public void addAll(int[] values, int from, int to) {
+        int count = to - from;
+        ensureCapacity(size + count);
+        System.arraycopy(values, from, elements, size, count);
+        size += count;
+    }
+
+    public void addAll(IntList other) {
+        addAll(other.elements, 0, other.size);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) grow(minCapacity);
+    }
+
+    // Trims the capacity to the size and returns the backing array itself, so
+    // algorithms can work on it in place and their writes show up in the list.
+    public int[] array() {
+        if (elements.length != size) elements = Arrays.copyOf(elements, size);
+        return elements;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) throw new OutOfMemoryError("IntList too large");
+        long newCapacity = Math.max(elements.length + (elements.length >> 1), Math.max(minCapacity, DEFAULT_CAPACITY));
+        elements = Arrays.copyOf(elements, (int) Math.min(newCapacity, MAX_CAPACITY));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+    }
+}
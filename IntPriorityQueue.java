@@ -0,0 +1,159 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/*
+ * Priority queue of primitive ints on an implicit d-ary heap (4-ary by
+ * default: a node's children share a cache line and the tree is half as
+ * deep as a binary one). Internally it is always a min-heap; MAX order
+ * stores ~value, which reverses the order without the overflow negation has
+ * on Integer.MIN_VALUE. All sifts are loops.
+ *
+ * pop moves the hole left by the root straight down to a leaf along the
+ * best children and only then sifts the last element up (Floyd's
+ * bottom-up variant), saving a comparison per level. pushPop and
+ * replaceTop do a push and a pop with a single sift.
+ */
+public final class IntPriorityQueue {
+    public static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    public enum Order {
+        MIN, MAX
+    }
+
+    private final Order order;
+    private final int arity;
+    private int[] heap;
+    private int size;
+
+    public IntPriorityQueue(Order order) {
+        this(order, DEFAULT_ARITY, DEFAULT_CAPACITY);
+    }
+
+    public IntPriorityQueue(Order order, int arity, int initialCapacity) {
+        if (arity < 2) throw new IllegalArgumentException("Arity must be at least 2.");
+        if (initialCapacity < 0) throw new IllegalArgumentException("Negative capacity: " + initialCapacity);
+        this.order = order;
+        this.arity = arity;
+        this.heap = new int[initialCapacity];
+    }
+
+    public Order order() {
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Replaces the contents with values[from, to) and builds the heap
+    // bottom-up in O(n), cheaper than n pushes.
+    public void heapify(int[] values, int from, int to) {
+        int n = to - from;
+        if (heap.length < n) heap = new int[n];
+        for (int i = 0; i < n; i++) heap[i] = key(values[from + i]);
+        size = n;
+        for (int i = n == 0 ? -1 : (n - 2) / arity; i >= 0; i--) siftDown(i, heap[i]);
+    }
+
+    public void push(int value) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, Math.max(DEFAULT_CAPACITY, size + (size >> 1)));
+        siftUp(size++, key(value));
+    }
+
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException("Queue is empty.");
+        return key(heap[0]);
+    }
+
+    public int pop() {
+        if (size == 0) throw new NoSuchElementException("Queue is empty.");
+        int top = heap[0];
+        int last = heap[--size];
+        if (size > 0) {
+            int hole = 0, child;
+            while ((child = arity * hole + 1) < size) {
+                int best = bestChild(child);
+                heap[hole] = heap[best];
+                OpCounter.move();
+                hole = best;
+            }
+            siftUp(hole, last);
+        }
+        return key(top);
+    }
+
+    // Same as push(value) then pop(), in one sift; returns value itself when
+    // it would come out first.
+    public int pushPop(int value) {
+        int k = key(value);
+        if (size == 0 || !OpCounter.less(heap[0], k)) return value;
+        int top = heap[0];
+        siftDown(0, k);
+        return key(top);
+    }
+
+    // Same as pop() then push(value), in one sift.
+    public int replaceTop(int value) {
+        if (size == 0) throw new NoSuchElementException("Queue is empty.");
+        int top = heap[0];
+        siftDown(0, key(value));
+        return key(top);
+    }
+
+    // Contents in priority order; the queue is unchanged.
+    public int[] toSortedArray() {
+        IntPriorityQueue copy = new IntPriorityQueue(order, arity, 0);
+        copy.heap = Arrays.copyOf(heap, size);
+        copy.size = size;
+        int[] result = new int[size];
+        for (int i = 0; i < result.length; i++) result[i] = copy.pop();
+        return result;
+    }
+
+    // The stored key for a value and the value for a stored key; ~ is its
+    // own inverse.
+    private int key(int value) {
+        return order == Order.MIN ? value : ~value;
+    }
+
+    private int bestChild(int first) {
+        int best = first;
+        int end = Math.min(first + arity, size);
+        for (int c = first + 1; c < end; c++) {
+            if (OpCounter.less(heap[c], heap[best])) best = c;
+        }
+        return best;
+    }
+
+    private void siftUp(int hole, int k) {
+        while (hole > 0) {
+            int parent = (hole - 1) / arity;
+            if (!OpCounter.less(k, heap[parent])) break;
+            heap[hole] = heap[parent];
+            OpCounter.move();
+            hole = parent;
+        }
+        heap[hole] = k;
+    }
+
+    private void siftDown(int hole, int k) {
+        int child;
+        while ((child = arity * hole + 1) < size) {
+            int best = bestChild(child);
+            if (!OpCounter.less(heap[best], k)) break;
+            heap[hole] = heap[best];
+            OpCounter.move();
+            hole = best;
+        }
+        heap[hole] = k;
+    }
+}
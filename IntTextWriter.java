@@ -0,0 +1,248 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/*
+ * Streams ints as text, one per line (or tab-separated pairs), into a
+ * channel. Digits are encoded two at a time from a lookup table straight
+ * into a reusable byte buffer, so no String or char[] is created per value,
+ * and full buffers go to the channel in one write. With background set, a
+ * second thread writes one buffer while the caller encodes the next; that
+ * pays off only with a spare core, so it is the default only then (override
+ * with -Ddsa.output.background=true|false). close() flushes, waits for the
+ * writer thread and closes the channel.
+ *
+ * export() writes a whole array as text, or as a RAW IntDataset when the
+ * path ends in ".dsai", which is smaller and loads without parsing.
+ */
+public final class IntTextWriter implements AutoCloseable {
+    static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+    static final boolean BACKGROUND = Boolean.parseBoolean(System.getProperty("dsa.output.background",
+            String.valueOf(Runtime.getRuntime().availableProcessors() > 1)));
+    // Longest entry: two "-2147483648" separated by a tab, then a newline.
+    private static final int MAX_ENTRY = 24;
+    private static final int PROGRESS_STEP = 1 << 20;
+    private static final byte[] TENS = new byte[100], ONES = new byte[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            TENS[i] = (byte) ('0' + i / 10);
+            ONES[i] = (byte) ('0' + i % 10);
+        }
+    }
+
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer;
+    private byte[] bytes;
+    private int position;
+
+    // Background mode only: filled buffers go to the writer through full and
+    // come back through free. An empty buffer in full stops the writer.
+    private final BlockingQueue<ByteBuffer> full, free;
+    private final Thread writer;
+    private volatile IOException failure;
+
+    public IntTextWriter(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE), DEFAULT_BUFFER_BYTES, BACKGROUND);
+    }
+
+    public IntTextWriter(WritableByteChannel channel, int bufferBytes, boolean background) {
+        if (bufferBytes < MAX_ENTRY) throw new IllegalArgumentException("Buffer too small: " + bufferBytes);
+        this.channel = channel;
+        setBuffer(ByteBuffer.allocate(bufferBytes));
+        if (background) {
+            full = new ArrayBlockingQueue<>(2);
+            free = new ArrayBlockingQueue<>(2);
+            free.add(ByteBuffer.allocate(bufferBytes));
+            writer = Thread.ofPlatform().daemon().name("int-text-writer").start(this::drain);
+        } else {
+            full = free = null;
+            writer = null;
+        }
+    }
+
+    // Writes values as text, or as a RAW IntDataset for a ".dsai" path.
+    public static void export(Path path, int[] values, int count, ProgressListener listener) throws IOException {
+        if (path.toString().endsWith(IntDataset.EXTENSION)) {
+            IntDataset.write(path, values, count, IntDataset.Encoding.RAW);
+            listener.progress(count, count);
+            return;
+        }
+        try (IntTextWriter out = new IntTextWriter(path)) {
+            for (int i = 0; i < count; i += PROGRESS_STEP) {
+                out.write(values, i, Math.min(i + PROGRESS_STEP, count));
+                listener.progress(i, count);
+            }
+        }
+        listener.progress(count, count);
+    }
+
+    public void write(int value) throws IOException {
+        reserve();
+        encode(value);
+        bytes[position++] = '\n';
+    }
+
+    public void write(int[] values, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            reserve();
+            encode(values[i]);
+            bytes[position++] = '\n';
+        }
+    }
+
+    // "first\tsecond\n", e.g. a search key and its index.
+    public void write(int first, int second) throws IOException {
+        reserve();
+        encode(first);
+        bytes[position++] = '\t';
+        encode(second);
+        bytes[position++] = '\n';
+    }
+
+    // Writes text as is; for headers and summaries, so only ASCII is expected.
+    public void write(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            if (position == bytes.length) handOff();
+            bytes[position++] = (byte) text.charAt(i);
+        }
+    }
+
+    // Passes everything written so far on to the channel.
+    public void flush() throws IOException {
+        if (position > 0) handOff();
+        if (writer != null) {
+            // There are two buffers: the one being filled and one the writer
+            // hands back once it is written.
+            put(free, take(free));
+            checkFailure();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (position > 0) handOff();
+        } finally {
+            try {
+                if (writer != null) stopWriter();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void reserve() throws IOException {
+        if (bytes.length - position < MAX_ENTRY) handOff();
+    }
+
+    // Decimal digits of value, two per step from the tables. Works on the
+    // negative magnitude so Integer.MIN_VALUE needs no special case.
+    private void encode(int value) {
+        int negative = value < 0 ? value : -value;
+        if (value < 0) bytes[position++] = '-';
+        int end = position + digits(negative), p = end;
+        while (negative <= -100) {
+            int quotient = negative / 100;
+            int pair = quotient * 100 - negative;
+            negative = quotient;
+            bytes[--p] = ONES[pair];
+            bytes[--p] = TENS[pair];
+        }
+        int last = -negative;
+        bytes[--p] = ONES[last];
+        if (last >= 10) bytes[--p] = TENS[last];
+        position = end;
+    }
+
+    // Number of digits of a non-positive int.
+    private static int digits(int negative) {
+        int bound = -10;
+        for (int digits = 1; digits < 10; digits++) {
+            if (negative > bound) return digits;
+            bound *= 10;
+        }
+        return 10;
+    }
+
+    private void handOff() throws IOException {
+        buffer.position(0).limit(position);
+        if (writer == null) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        } else {
+            checkFailure();
+            put(full, buffer);
+            setBuffer(take(free));
+        }
+        position = 0;
+    }
+
+    private void stopWriter() throws IOException {
+        // Never blocks: full holds at most the other buffer besides this.
+        full.offer(ByteBuffer.allocate(0));
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing");
+        }
+        checkFailure();
+    }
+
+    // Writer thread: writes each full buffer and hands it back. After a
+    // failure it keeps recycling buffers so the caller never blocks, and the
+    // caller raises the failure at its next hand-off.
+    private void drain() {
+        try {
+            while (true) {
+                ByteBuffer next = full.take();
+                if (next.capacity() == 0) return;
+                try {
+                    while (failure == null && next.hasRemaining()) channel.write(next);
+                } catch (IOException e) {
+                    failure = e;
+                }
+                free.put(next.clear());
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Writer thread interrupted");
+        }
+    }
+
+    private void setBuffer(ByteBuffer next) {
+        buffer = next;
+        bytes = next.array();
+    }
+
+    private void checkFailure() throws IOException {
+        IOException e = failure;
+        if (e != null) throw new IOException("Write failed: " + e.getMessage(), e);
+    }
+
+    private static ByteBuffer take(BlockingQueue<ByteBuffer> queue) throws IOException {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing");
+        }
+    }
+
+    private static void put(BlockingQueue<ByteBuffer> queue, ByteBuffer buffer) throws IOException {
+        try {
+            queue.put(buffer);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/*
+ * Incremental integer tokenizer. Tokens are separated by spaces, commas, tabs
+ * and line breaks; a token is an optional sign followed by digits. Tokens that
+ * contain anything else, or do not fit in an int, are skipped, which matches
+ * what Integer.parseInt on "[ ,]+"-split tokens used to accept. Input can be
+ * fed in pieces, so a number split across two buffers is still parsed whole.
+ * Nothing is allocated per token.
+ */
+public final class IntTokenizer {
+    private static final long LIMIT = 1L << 31;
+
+    private final IntConsumer sink;
+    private long magnitude;
+    private boolean negative;
+    private boolean inToken;
+    private boolean hasDigits;
+    private boolean invalid;
+
+    public IntTokenizer(IntConsumer sink) {
+        this.sink = sink;
+    }
+
+    public static boolean isSeparator(int c) {
+        return c == ' ' || c == ',' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    public void feed(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) step(buffer.get(i));
+    }
+
+    public void feed(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) step(bytes[i]);
+    }
+
+    public void feed(char[] chars, int from, int to) {
+        for (int i = from; i < to; i++) step(chars[i]);
+    }
+
+    public void feed(CharSequence text) {
+        for (int i = 0, n = text.length(); i < n; i++) step(text.charAt(i));
+    }
+
+    // Ends the current token, e.g. at a paragraph or line boundary.
+    public void separator() {
+        if (inToken) endToken();
+    }
+
+    public void finish() {
+        separator();
+    }
+
+    private void step(int c) {
+        int digit = c - '0';
+        if (digit >= 0 && digit <= 9) {
+            inToken = true;
+            hasDigits = true;
+            magnitude = magnitude * 10 + digit;
+            if (magnitude > LIMIT) invalid = true;
+        } else if (isSeparator(c)) {
+            if (inToken) endToken();
+        } else if ((c == '-' || c == '+') && !inToken) {
+            inToken = true;
+            negative = c == '-';
+        } else {
+            inToken = true;
+            invalid = true;
+        }
+    }
+
+    private void endToken() {
+        if (hasDigits && !invalid && (negative || magnitude < LIMIT)) {
+            sink.accept((int) (negative ? -magnitude : magnitude));
+        }
+        magnitude = 0;
+        negative = false;
+        inToken = false;
+        hasDigits = false;
+        invalid = false;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Introsort-style quick sort. Pivots are the median of three (or the ninther
+ * on larger ranges), partitioning is three-way so runs of equal keys are
+ * finished in one pass, and only the smaller side is recursed into while the
+ * larger side is handled by the loop, which bounds the stack at O(log n).
+ * Small ranges go to InsertionSort, and once the depth passes 2 log n the
+ * range is handed to HeapSort, so the worst case stays O(n log n).
+ */
+public class IntroSort implements SortAlgorithm {
+    static final int INSERTION_THRESHOLD = 24;
+    static final int NINTHER_THRESHOLD = 128;
+
+    public void sort(int[] data) {
+        sort(data, 0, data.length);
+    }
+
+    // Progress counts elements in their final place: finished small ranges
+    // and the keys equal to each pivot.
+    public void sort(int[] data, ProgressListener listener) {
+        ProgressListener.Tracker tracker = new ProgressListener.Tracker(listener, data.length);
+        tracker.start();
+        if (data.length > 1) sort(data, 0, data.length, depthLimit(data.length), tracker);
+        tracker.finish();
+    }
+
+    static void sort(int[] data, int from, int to) {
+        if (to - from < 2) return;
+        sort(data, from, to, depthLimit(to - from));
+    }
+
+    static int depthLimit(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(n));
+    }
+
+    static void sort(int[] data, int low, int high, int depth) {
+        sort(data, low, high, depth, ProgressListener.Tracker.NONE);
+    }
+
+    static void sort(int[] data, int low, int high, int depth, ProgressListener.Tracker tracker) {
+        while (high - low > INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                HeapSort.sort(data, low, high);
+                tracker.add(high - low);
+                return;
+            }
+            long bounds = partition(data, low, high, choosePivot(data, low, high));
+            int lt = (int) (bounds >>> 32), gt = (int) bounds;
+            tracker.add(gt - lt);
+            if (lt - low < high - gt) {
+                sort(data, low, lt, depth, tracker);
+                low = gt;
+            } else {
+                sort(data, gt, high, depth, tracker);
+                high = lt;
+            }
+        }
+        InsertionSort.sort(data, low, high);
+        tracker.add(high - low);
+    }
+
+    // Three-way partition of data[low, high) around pivot. Returns lt and gt
+    // packed as (lt << 32) | gt, where [low, lt) < pivot, [lt, gt) == pivot
+    // and [gt, high) > pivot.
+    static long partition(int[] data, int low, int high, int pivot) {
+        int lt = low, i = low, gt = high;
+        while (i < gt) {
+            int value = data[i];
+            if (OpCounter.less(value, pivot)) {
+                OpCounter.swap();
+                data[i++] = data[lt];
+                data[lt++] = value;
+            } else if (OpCounter.less(pivot, value)) {
+                OpCounter.swap();
+                data[i] = data[--gt];
+                data[gt] = value;
+            } else {
+                i++;
+            }
+        }
+        return ((long) lt << 32) | gt;
+    }
+
+    static int choosePivot(int[] data, int low, int high) {
+        int n = high - low;
+        int mid = low + (n >>> 1);
+        if (n < NINTHER_THRESHOLD) return median(data[low], data[mid], data[high - 1]);
+        int step = n >>> 3;
+        return median(
+                median(data[low], data[low + step], data[low + 2 * step]),
+                median(data[mid - step], data[mid], data[mid + step]),
+                median(data[high - 1 - 2 * step], data[high - 1 - step], data[high - 1]));
+    }
+
+    private static int median(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    public String getComplexity() {
+        return "O(n log n) worst case";
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Sorts parallel primitive arrays: int keys plus an int or long payload per
+ * key (a row id, an original position, a record offset), with no boxing,
+ * Comparator or object arrays. argsort returns the permutation that sorts
+ * the keys and leaves them untouched.
+ *
+ *   algorithm  stable  time         extra memory
+ *   MERGE      yes     O(n log n)   2n ints
+ *   RADIX      yes     O(n)         2n ints
+ *   QUICK      no      O(n log n)   O(log n) stack
+ *   HEAP       no      O(n log n)   none
+ *
+ * Stable means equal keys keep their payloads in input order, so an argsort
+ * by MERGE or RADIX lists the positions of equal keys in ascending order.
+ * Each algorithm follows its int[] counterpart (bottom-up merging over
+ * insertion-sorted runs, LSD bytes with uniform passes skipped, IntroSort's
+ * three-way partition with a heap sort fallback, bottom-up heapify) but
+ * moves the payload with every key. A long payload is sorted through an
+ * int permutation and gathered once at the end, which costs n ints and n
+ * longs of extra memory.
+ */
+public final class KeyValueSort {
+    static final int RUN = 32;
+
+    public enum Algorithm {
+        MERGE(true), QUICK(false), HEAP(false), RADIX(true);
+
+        private final boolean stable;
+
+        Algorithm(boolean stable) {
+            this.stable = stable;
+        }
+
+        public boolean isStable() {
+            return stable;
+        }
+
+        public void sort(int[] keys, int[] values) {
+            check(keys, values.length);
+            switch (this) {
+                case MERGE -> mergeSort(keys, values);
+                case QUICK -> quickSort(keys, values);
+                case HEAP -> heapSort(keys, values);
+                case RADIX -> radixSort(keys, values);
+            }
+        }
+
+        public void sort(int[] keys, long[] values) {
+            check(keys, values.length);
+            int[] order = identity(keys.length);
+            sort(keys, order);
+            long[] original = values.clone();
+            OpCounter.allocateInts(3L * keys.length);
+            for (int i = 0; i < order.length; i++) values[i] = original[order[i]];
+            OpCounter.move(keys.length);
+        }
+    }
+
+    private KeyValueSort() {
+    }
+
+    // Stable argsort: keys[result[0]] <= keys[result[1]] <= ..., ties in
+    // ascending position. keys is not modified.
+    public static int[] argsort(int[] keys) {
+        return argsort(keys, Algorithm.RADIX);
+    }
+
+    public static int[] argsort(int[] keys, Algorithm algorithm) {
+        int[] order = identity(keys.length);
+        OpCounter.allocateInts(2L * keys.length);
+        algorithm.sort(keys.clone(), order);
+        return order;
+    }
+
+    public static void mergeSort(int[] keys, int[] values) {
+        check(keys, values.length);
+        int n = keys.length;
+        if (n < 2) return;
+        for (int low = 0; low < n; low += RUN) insertionSort(keys, values, low, Math.min(low + RUN, n));
+        if (n <= RUN) return;
+
+        int[] srcKeys = keys, srcValues = values;
+        int[] dstKeys = new int[n], dstValues = new int[n];
+        OpCounter.allocateInts(2L * n);
+        for (int width = RUN; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int mid = Math.min(low + width, n), high = Math.min(low + 2 * width, n);
+                if (mid == high || OpCounter.lessOrEqual(srcKeys[mid - 1], srcKeys[mid])) {
+                    System.arraycopy(srcKeys, low, dstKeys, low, high - low);
+                    System.arraycopy(srcValues, low, dstValues, low, high - low);
+                    OpCounter.move(high - low);
+                } else {
+                    merge(srcKeys, srcValues, dstKeys, dstValues, low, mid, high);
+                }
+            }
+            int[] t = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = t;
+            t = srcValues;
+            srcValues = dstValues;
+            dstValues = t;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+            OpCounter.move(n);
+        }
+    }
+
+    public static void quickSort(int[] keys, int[] values) {
+        check(keys, values.length);
+        if (keys.length < 2) return;
+        quickSort(keys, values, 0, keys.length, IntroSort.depthLimit(keys.length));
+    }
+
+    public static void heapSort(int[] keys, int[] values) {
+        check(keys, values.length);
+        heapSort(keys, values, 0, keys.length);
+    }
+
+    public static void radixSort(int[] keys, int[] values) {
+        check(keys, values.length);
+        int n = keys.length;
+        if (n < 2) return;
+        int radix = RadixSort.RADIX, passes = RadixSort.PASSES;
+        int[] counts = new int[passes * radix];
+        for (int key : keys) {
+            int k = key ^ Integer.MIN_VALUE;
+            counts[k & 0xFF]++;
+            counts[radix + ((k >>> 8) & 0xFF)]++;
+            counts[2 * radix + ((k >>> 16) & 0xFF)]++;
+            counts[3 * radix + (k >>> 24)]++;
+        }
+
+        int[] srcKeys = keys, srcValues = values;
+        int[] dstKeys = new int[n], dstValues = new int[n];
+        OpCounter.allocateInts(2L * n);
+        int[] offsets = new int[radix];
+        for (int pass = 0; pass < passes; pass++) {
+            int shift = pass * 8, base = pass * radix;
+            if (counts[base + (((srcKeys[0] ^ Integer.MIN_VALUE) >>> shift) & 0xFF)] == n) continue;
+            int sum = 0;
+            for (int b = 0; b < radix; b++) {
+                offsets[b] = sum;
+                sum += counts[base + b];
+            }
+            for (int i = 0; i < n; i++) {
+                int key = srcKeys[i];
+                int at = offsets[((key ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++;
+                dstKeys[at] = key;
+                dstValues[at] = srcValues[i];
+            }
+            OpCounter.move(n);
+            int[] t = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = t;
+            t = srcValues;
+            srcValues = dstValues;
+            dstValues = t;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+            OpCounter.move(n);
+        }
+    }
+
+    private static void check(int[] keys, int valueCount) {
+        if (keys.length != valueCount) {
+            throw new IllegalArgumentException(keys.length + " keys but " + valueCount + " values");
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        return order;
+    }
+
+    // Takes from the left run on ties, which keeps the merge stable.
+    private static void merge(int[] srcKeys, int[] srcValues, int[] dstKeys, int[] dstValues,
+                              int low, int mid, int high) {
+        int i = low, j = mid, k = low;
+        while (i < mid && j < high) {
+            if (OpCounter.lessOrEqual(srcKeys[i], srcKeys[j])) {
+                dstKeys[k] = srcKeys[i];
+                dstValues[k++] = srcValues[i++];
+            } else {
+                dstKeys[k] = srcKeys[j];
+                dstValues[k++] = srcValues[j++];
+            }
+        }
+        System.arraycopy(srcKeys, i, dstKeys, k, mid - i);
+        System.arraycopy(srcValues, i, dstValues, k, mid - i);
+        k += mid - i;
+        System.arraycopy(srcKeys, j, dstKeys, k, high - j);
+        System.arraycopy(srcValues, j, dstValues, k, high - j);
+        OpCounter.move(high - low);
+    }
+
+    // Stable: a key only moves past strictly greater ones.
+    private static void insertionSort(int[] keys, int[] values, int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            int key = keys[i], value = values[i];
+            int j = i - 1;
+            while (j >= low && OpCounter.less(key, keys[j])) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                OpCounter.move();
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    private static void quickSort(int[] keys, int[] values, int low, int high, int depth) {
+        while (high - low > IntroSort.INSERTION_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(keys, values, low, high);
+                return;
+            }
+            int pivot = IntroSort.choosePivot(keys, low, high);
+            // [low, lt) < pivot, [lt, gt) == pivot, [gt, high) > pivot.
+            int lt = low, i = low, gt = high;
+            while (i < gt) {
+                int key = keys[i];
+                if (OpCounter.less(key, pivot)) {
+                    swap(keys, values, i++, lt++);
+                } else if (OpCounter.less(pivot, key)) {
+                    swap(keys, values, i, --gt);
+                } else {
+                    i++;
+                }
+            }
+            if (lt - low < high - gt) {
+                quickSort(keys, values, low, lt, depth);
+                low = gt;
+            } else {
+                quickSort(keys, values, gt, high, depth);
+                high = lt;
+            }
+        }
+        insertionSort(keys, values, low, high);
+    }
+
+    private static void heapSort(int[] keys, int[] values, int from, int to) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(keys, values, from, n, i);
+        for (int i = n - 1; i > 0; i--) {
+            swap(keys, values, from, from + i);
+            siftDown(keys, values, from, i, 0);
+        }
+    }
+
+    // Sifts the pair at base + hole down the max-heap [base, base + n),
+    // moving a hole instead of swapping.
+    private static void siftDown(int[] keys, int[] values, int base, int n, int hole) {
+        int key = keys[base + hole], value = values[base + hole];
+        int child;
+        while ((child = 2 * hole + 1) < n) {
+            if (child + 1 < n && OpCounter.less(keys[base + child], keys[base + child + 1])) child++;
+            if (!OpCounter.less(key, keys[base + child])) break;
+            keys[base + hole] = keys[base + child];
+            values[base + hole] = values[base + child];
+            OpCounter.move();
+            hole = child;
+        }
+        keys[base + hole] = key;
+        values[base + hole] = value;
+    }
+
+    private static void swap(int[] keys, int[] values, int i, int j) {
+        OpCounter.swap();
+        int t = keys[i];
+        keys[i] = keys[j];
+        keys[j] = t;
+        t = values[i];
+        values[i] = values[j];
+        values[j] = t;
+    }
+}
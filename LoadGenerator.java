@@ -0,0 +1,106 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Load generator for AlgorithmServer on localhost. It registers a random
+ * dataset, then runs the given number of clients, each on its own virtual
+ * thread and connection, sending search requests back to back. Half of
+ * every request's keys are taken from the data, so results mix hits and
+ * misses. BUSY answers are counted and retried after a short back-off.
+ * Reports client-side throughput and latency percentiles, followed by the
+ * server's own STATS.
+ *
+ *   java LoadGenerator [--port n | --embedded] [--clients 64] [--requests 500]
+ *                      [--keys 8] [--size 1000000] [--search binary|sequential]
+ */
+public class LoadGenerator {
+    static final long BUSY_BACKOFF_MS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int port = AlgorithmServer.DEFAULT_PORT, clients = 64, requests = 500, keysPerRequest = 8, size = 1_000_000;
+        String search = "binary";
+        boolean embedded = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--embedded" -> embedded = true;
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--clients" -> clients = Integer.parseInt(args[++i]);
+                case "--requests" -> requests = Integer.parseInt(args[++i]);
+                case "--keys" -> keysPerRequest = Integer.parseInt(args[++i]);
+                case "--size" -> size = Integer.parseInt(args[++i]);
+                case "--search" -> search = args[++i];
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        AlgorithmServer server = embedded ? AlgorithmServer.start(0, AlgorithmServer.DEFAULT_QUEUE_CAPACITY,
+                AlgorithmServer.DEFAULT_MAX_BATCH) : null;
+        if (server != null) port = server.port();
+        try {
+            run(port, clients, requests, keysPerRequest, size, search);
+        } finally {
+            if (server != null) server.close();
+        }
+    }
+
+    static void run(int port, int clients, int requests, int keysPerRequest, int size, String search)
+            throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] data = random.ints(size).toArray();
+        try (AlgorithmClient admin = new AlgorithmClient(port)) {
+            admin.register("load", data);
+        }
+
+        long[][] latencies = new long[clients][requests];
+        LongAdder busy = new LongAdder(), failures = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            long[] mine = latencies[c];
+            SplittableRandom own = random.split();
+            threads.add(Thread.ofVirtual().start(() -> {
+                try (AlgorithmClient client = new AlgorithmClient(port)) {
+                    int[] keys = new int[keysPerRequest];
+                    for (int r = 0; r < requests; r++) {
+                        for (int k = 0; k < keys.length; k++) keys[k] = k % 2 == 0 ? data[own.nextInt(data.length)] : own.nextInt();
+                        long sent = System.nanoTime();
+                        while (true) {
+                            try {
+                                client.search("load", search, keys);
+                                break;
+                            } catch (AlgorithmClient.BusyException e) {
+                                busy.increment();
+                                Thread.sleep(BUSY_BACKOFF_MS);
+                            }
+                        }
+                        mine[r] = System.nanoTime() - sent;
+                    }
+                } catch (IOException | InterruptedException e) {
+                    failures.increment();
+                    System.err.println("Client failed: " + e.getMessage());
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.join();
+        long elapsed = System.nanoTime() - start;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).filter(l -> l > 0).sorted().toArray();
+        System.out.printf("%d clients x %d requests of %d keys (%s search on %d values) in %d ms%n",
+                clients, requests, keysPerRequest, search, size, elapsed / 1_000_000);
+        System.out.printf("throughput %.0f requests/s, latency p50 %d us, p99 %d us, max %d us, %d busy retries, %d failed clients%n",
+                all.length / (elapsed / 1e9), percentile(all, 0.50), percentile(all, 0.99),
+                all.length == 0 ? 0 : all[all.length - 1] / 1_000, busy.sum(), failures.sum());
+        try (AlgorithmClient admin = new AlgorithmClient(port)) {
+            System.out.println(admin.stats());
+        }
+    }
+
+    private static long percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * q) - 1)] / 1_000;
+    }
+}
@@ -0,0 +1,153 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/*
+ * Reads integers from a text file by memory-mapping it and running the bytes
+ * straight through IntTokenizer. The file is mapped in windows, so inputs
+ * larger than 2 GB work; a parallel mode cuts the file into chunks at
+ * separator boundaries and parses each chunk on its own thread. Given a
+ * ParseCache.SourceDigest, the mapped bytes are also hashed in file order
+ * (by the calling thread while the workers parse), so the cache needs no
+ * second read of the file.
+ */
+public final class MappedIntParser {
+    static final long WINDOW_SIZE = 1L << 28;
+    static final long PARALLEL_THRESHOLD = 1L << 26;
+
+    private MappedIntParser() {
+    }
+
+    public static IntList parse(Path path) throws IOException {
+        return parse(path, (ParseCache.SourceDigest) null);
+    }
+
+    public static IntList parse(Path path, ParseCache.SourceDigest digest) throws IOException {
+        long size = Files.size(path);
+        int parallelism = size >= PARALLEL_THRESHOLD ? Runtime.getRuntime().availableProcessors() : 1;
+        return parse(path, parallelism, digest);
+    }
+
+    public static IntList parse(Path path, int parallelism) throws IOException {
+        return parse(path, parallelism, null);
+    }
+
+    // digest may be null.
+    public static IntList parse(Path path, int parallelism, ParseCache.SourceDigest digest) throws IOException {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1.");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Rough guess of one value per 8 bytes to avoid most regrowth.
+            int estimate = (int) Math.min(size / 8 + 16, Integer.MAX_VALUE - 8);
+            if (parallelism == 1) {
+                IntList numbers = new IntList(estimate);
+                parseRange(channel, 0, size, numbers, digest);
+                return numbers;
+            }
+            return parseParallel(channel, size, parallelism, digest);
+        }
+    }
+
+    // Streams every value to the sink without holding the whole dataset.
+    public static void parse(Path path, IntConsumer sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            parseRange(channel, 0, channel.size(), sink, null);
+        }
+    }
+
+    private static void parseRange(FileChannel channel, long from, long to, IntConsumer sink,
+                                   ParseCache.SourceDigest digest) throws IOException {
+        IntTokenizer tokenizer = new IntTokenizer(sink);
+        for (long position = from; position < to; position += WINDOW_SIZE) {
+            long length = Math.min(WINDOW_SIZE, to - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            tokenizer.feed(window, 0, (int) length);
+            if (digest != null) digest.update(window);
+        }
+        tokenizer.finish();
+    }
+
+    private static IntList parseParallel(FileChannel channel, long size, int parallelism,
+                                         ParseCache.SourceDigest digest) throws IOException {
+        long[] bounds = chunkBounds(channel, size, parallelism * 4);
+        List<ForkJoinTask<IntList>> tasks = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            long from = bounds[i], to = bounds[i + 1];
+            if (from == to) continue;
+            tasks.add(ForkJoinTask.adapt(() -> {
+                IntList part = new IntList((int) Math.min((to - from) / 8 + 16, Integer.MAX_VALUE - 8));
+                try {
+                    parseRange(channel, from, to, part, null);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return part;
+            }));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            tasks.forEach(pool::execute);
+            if (digest != null) {
+                for (long position = 0; position < size; position += WINDOW_SIZE) {
+                    digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position)));
+                }
+            }
+            List<IntList> parts = new ArrayList<>(tasks.size());
+            long total = 0;
+            for (ForkJoinTask<IntList> task : tasks) {
+                IntList part = task.join();
+                parts.add(part);
+                total += part.size();
+            }
+            if (total > Integer.MAX_VALUE - 8) throw new IOException("Too many values for an in-memory dataset: " + total);
+            IntList numbers = new IntList((int) total);
+            for (IntList part : parts) numbers.addAll(part);
+            return numbers;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Splits [0, size) into roughly equal chunks whose starts sit right after a
+    // separator, so no number is cut in two.
+    private static long[] chunkBounds(FileChannel channel, long size, int chunks) throws IOException {
+        long chunkSize = Math.min(Math.max(size / chunks, 1 << 20), WINDOW_SIZE * 4);
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(64);
+        long next = chunkSize;
+        while (next < size) {
+            long boundary = alignToSeparator(channel, next, size, probe);
+            bounds.add(boundary);
+            next = boundary + chunkSize;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long alignToSeparator(FileChannel channel, long position, long size, ByteBuffer probe) throws IOException {
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (IntTokenizer.isSeparator(probe.get(i))) return position + i + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,113 @@
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/*
+ * Repeated-run timing for sort and search algorithms. Each measurement runs a
+ * number of untimed warm-up iterations so the JIT has compiled the hot loops,
+ * then times every measured run separately and reports p50, p99 and max.
+ * fitScaling runs the same measurement across several sizes and fits
+ * time ~ c * n^k on a log-log scale, which gives the empirical growth exponent
+ * to set next to the theoretical complexity.
+ */
+public class MeasurementRunner {
+    private static volatile int blackhole;
+
+    private final int warmupRuns;
+    private final int measuredRuns;
+
+    public MeasurementRunner() {
+        this(5, 20);
+    }
+
+    public MeasurementRunner(int warmupRuns, int measuredRuns) {
+        if (warmupRuns < 0 || measuredRuns < 1) throw new IllegalArgumentException("Need at least one measured run.");
+        this.warmupRuns = warmupRuns;
+        this.measuredRuns = measuredRuns;
+    }
+
+    public record Result(int size, long p50Nanos, long p99Nanos, long maxNanos, OpCounter.Counts counts) {
+        @Override
+        public String toString() {
+            return "n=" + size + ": p50 " + p50Nanos / 1_000 + " µs, p99 " + p99Nanos / 1_000 +
+                    " µs, max " + maxNanos / 1_000 + " µs";
+        }
+    }
+
+    public record Scaling(double exponent, double rSquared, Result[] results) {
+        @Override
+        public String toString() {
+            return String.format("Measured growth: ~n^%.2f (r^2 = %.3f over %d sizes)", exponent, rSquared, results.length);
+        }
+    }
+
+    // Every run sorts a fresh copy of input, so all runs see the same order.
+    public Result measureSort(SortAlgorithm algorithm, int[] input) {
+        int[] work = new int[input.length];
+        for (int i = 0; i < warmupRuns; i++) {
+            System.arraycopy(input, 0, work, 0, input.length);
+            algorithm.sort(work);
+        }
+        long[] times = new long[measuredRuns];
+        for (int i = 0; i < measuredRuns; i++) {
+            System.arraycopy(input, 0, work, 0, input.length);
+            long start = System.nanoTime();
+            algorithm.sort(work);
+            times[i] = System.nanoTime() - start;
+        }
+        System.arraycopy(input, 0, work, 0, input.length);
+        OpCounter.Counts counts = algorithm.sortCounted(work);
+        return summarize(input.length, times, counts);
+    }
+
+    public Result measureSearch(SearchAlgorithm algorithm, int[] data, int key) {
+        int sink = 0;
+        for (int i = 0; i < warmupRuns; i++) sink += algorithm.search(data, key);
+        long[] times = new long[measuredRuns];
+        for (int i = 0; i < measuredRuns; i++) {
+            long start = System.nanoTime();
+            sink += algorithm.search(data, key);
+            times[i] = System.nanoTime() - start;
+        }
+        blackhole = sink;
+        return summarize(data.length, times, algorithm.searchCounted(data, key));
+    }
+
+    public Scaling fitScaling(SortAlgorithm algorithm, IntFunction<int[]> inputForSize, int... sizes) {
+        Result[] results = new Result[sizes.length];
+        for (int i = 0; i < sizes.length; i++) results[i] = measureSort(algorithm, inputForSize.apply(sizes[i]));
+        return fit(results);
+    }
+
+    // Least-squares slope of log(p50) against log(n).
+    static Scaling fit(Result[] results) {
+        int m = results.length;
+        if (m < 2) return new Scaling(Double.NaN, Double.NaN, results);
+        double[] x = new double[m], y = new double[m];
+        double meanX = 0, meanY = 0;
+        for (int i = 0; i < m; i++) {
+            x[i] = Math.log(results[i].size());
+            y[i] = Math.log(Math.max(1, results[i].p50Nanos()));
+            meanX += x[i] / m;
+            meanY += y[i] / m;
+        }
+        double sxy = 0, sxx = 0, syy = 0;
+        for (int i = 0; i < m; i++) {
+            sxy += (x[i] - meanX) * (y[i] - meanY);
+            sxx += (x[i] - meanX) * (x[i] - meanX);
+            syy += (y[i] - meanY) * (y[i] - meanY);
+        }
+        double slope = sxx == 0 ? Double.NaN : sxy / sxx;
+        double r2 = sxx == 0 || syy == 0 ? Double.NaN : (sxy * sxy) / (sxx * syy);
+        return new Scaling(slope, r2, results);
+    }
+
+    private static Result summarize(int size, long[] times, OpCounter.Counts counts) {
+        Arrays.sort(times);
+        return new Result(size, percentile(times, 50), percentile(times, 99), times[times.length - 1], counts);
+    }
+
+    private static long percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,52 @@
+import java.util.Arrays;
+
+public class MergeSort implements SortAlgorithm {
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    // Progress counts merged elements, about n log n in all.
+    public void sort(int[] data, ProgressListener listener) {
+        if (data.length < 2) return;
+        ProgressListener.Tracker tracker = new ProgressListener.Tracker(listener, mergeWork(data.length));
+        tracker.start();
+        mergeSort(data, 0, data.length - 1, tracker);
+        tracker.finish();
+    }
+
+    void mergeSort(int[] data, int left, int right) {
+        mergeSort(data, left, right, ProgressListener.Tracker.NONE);
+    }
+
+    void mergeSort(int[] data, int left, int right, ProgressListener.Tracker tracker) {
+        if (left < right) {
+            int mid = (left + right) / 2;
+            mergeSort(data, left, mid, tracker);
+            mergeSort(data, mid + 1, right, tracker);
+            merge(data, left, mid, right);
+            tracker.add(right - left + 1);
+        }
+    }
+
+    // Elements moved by merging n values: n per level of the recursion.
+    static long mergeWork(int n) {
+        return (long) n * (32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1)));
+    }
+
+    private void merge(int[] data, int left, int mid, int right) {
+        int[] leftArr = Arrays.copyOfRange(data, left, mid + 1);
+        int[] rightArr = Arrays.copyOfRange(data, mid + 1, right + 1);
+        OpCounter.allocateInts(right - left + 1);
+        OpCounter.move(right - left + 1);
+        int i = 0, j = 0, k = left;
+        while (i < leftArr.length && j < rightArr.length) {
+            data[k++] = OpCounter.lessOrEqual(leftArr[i], rightArr[j]) ? leftArr[i++] : rightArr[j++];
+        }
+        while (i < leftArr.length) data[k++] = leftArr[i++];
+        while (j < rightArr.length) data[k++] = rightArr[j++];
+    }
+
+    public String getComplexity() {
+        return "O(n log n)";
+    }
+}
@@ -0,0 +1,160 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Array of ints outside the Java heap with long indices, so it can hold more
+ * than 2^31 values and adds nothing to GC work. The values are split into
+ * pages of 2^PAGE_SHIFT ints, each a little-endian IntBuffer view of a
+ * direct buffer or of one window of a mapped RAW IntDataset file; get and
+ * set are a shift, a mask and an absolute buffer access. A mapped array
+ * opened writable is changed in place in the file, with no heap copy;
+ * close() flushes it and refreshes the dataset checksum.
+ *
+ * This is the role java.lang.foreign.MemorySegment plays from Java 22; on
+ * the Java 21 this project builds with that API is still a preview, so
+ * NIO buffers are used instead. Direct memory is limited by
+ * -XX:MaxDirectMemorySize and, like mappings, released only once the array
+ * is garbage collected.
+ */
+public final class OffHeapIntArray implements AutoCloseable {
+    static final int PAGE_SHIFT = 26;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final IntBuffer[] pages;
+    private final MappedByteBuffer[] mapped;
+    private final long length;
+    // The writable dataset whose checksum close() refreshes, or null.
+    private final Path dataset;
+
+    private OffHeapIntArray(IntBuffer[] pages, MappedByteBuffer[] mapped, long length, Path dataset) {
+        this.pages = pages;
+        this.mapped = mapped;
+        this.length = length;
+        this.dataset = dataset;
+    }
+
+    // A zero-filled array in direct memory.
+    public static OffHeapIntArray allocate(long length) {
+        if (length < 0) throw new IllegalArgumentException("Negative length: " + length);
+        IntBuffer[] pages = new IntBuffer[pageCount(length)];
+        for (int p = 0; p < pages.length; p++) {
+            pages[p] = ByteBuffer.allocateDirect(pageLength(length, p) * Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+        return new OffHeapIntArray(pages, null, length, null);
+    }
+
+    public static OffHeapIntArray copyOf(int[] values) {
+        OffHeapIntArray array = allocate(values.length);
+        array.copyFrom(values, 0, 0, values.length);
+        return array;
+    }
+
+    // Maps the payload of a RAW IntDataset. Writable mappings change the file
+    // itself; close() then refreshes its checksum.
+    public static OffHeapIntArray map(Path path, boolean writable) throws IOException {
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            IntDataset.Header header = IntDataset.readHeader(path);
+            if (header.encoding() != IntDataset.Encoding.RAW) throw new IOException(path + " is not raw-encoded");
+            long length = header.count();
+            if (header.payloadBytes() != length * Integer.BYTES) throw new IOException(path + " has a damaged header");
+            FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            IntBuffer[] pages = new IntBuffer[pageCount(length)];
+            MappedByteBuffer[] mapped = new MappedByteBuffer[pages.length];
+            for (int p = 0; p < pages.length; p++) {
+                mapped[p] = channel.map(mode, IntDataset.HEADER_SIZE + ((long) p << PAGE_SHIFT) * Integer.BYTES,
+                        (long) pageLength(length, p) * Integer.BYTES);
+                pages[p] = mapped[p].order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            }
+            return new OffHeapIntArray(pages, mapped, length, writable ? path : null);
+        }
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int get(long index) {
+        return pages[(int) (index >>> PAGE_SHIFT)].get((int) index & PAGE_MASK);
+    }
+
+    public void set(long index, int value) {
+        pages[(int) (index >>> PAGE_SHIFT)].put((int) index & PAGE_MASK, value);
+    }
+
+    void swap(long i, long j) {
+        int t = get(i);
+        set(i, get(j));
+        set(j, t);
+    }
+
+    // Bulk copies, one page-bounded piece at a time.
+    public void copyFrom(int[] src, int srcFrom, long to, int count) {
+        while (count > 0) {
+            int offset = (int) to & PAGE_MASK;
+            int n = Math.min(count, PAGE_SIZE - offset);
+            pages[(int) (to >>> PAGE_SHIFT)].put(offset, src, srcFrom, n);
+            srcFrom += n;
+            to += n;
+            count -= n;
+        }
+    }
+
+    public void copyTo(long from, int[] dst, int dstFrom, int count) {
+        while (count > 0) {
+            int offset = (int) from & PAGE_MASK;
+            int n = Math.min(count, PAGE_SIZE - offset);
+            pages[(int) (from >>> PAGE_SHIFT)].get(offset, dst, dstFrom, n);
+            dstFrom += n;
+            from += n;
+            count -= n;
+        }
+    }
+
+    static void copy(OffHeapIntArray src, long from, OffHeapIntArray dst, long to, long count) {
+        OpCounter.move(count);
+        while (count > 0) {
+            int srcOffset = (int) from & PAGE_MASK, dstOffset = (int) to & PAGE_MASK;
+            int n = (int) Math.min(count, Math.min(PAGE_SIZE - srcOffset, PAGE_SIZE - dstOffset));
+            dst.pages[(int) (to >>> PAGE_SHIFT)].put(dstOffset, src.pages[(int) (from >>> PAGE_SHIFT)], srcOffset, n);
+            from += n;
+            to += n;
+            count -= n;
+        }
+    }
+
+    public int[] toArray() {
+        if (length > Integer.MAX_VALUE - 8) throw new IllegalStateException(length + " values do not fit in an array");
+        int[] values = new int[(int) length];
+        copyTo(0, values, 0, values.length);
+        return values;
+    }
+
+    // Writes mapped changes back to the file and refreshes its checksum.
+    @Override
+    public void close() throws IOException {
+        if (dataset == null) return;
+        for (MappedByteBuffer page : mapped) page.force();
+        IntDataset.updateChecksum(dataset);
+    }
+
+    private static int pageCount(long length) {
+        long count = (length + PAGE_MASK) >>> PAGE_SHIFT;
+        if (count > Integer.MAX_VALUE) throw new IllegalArgumentException("Too long: " + length);
+        return (int) count;
+    }
+
+    private static int pageLength(long length, int page) {
+        return (int) Math.min(PAGE_SIZE, length - ((long) page << PAGE_SHIFT));
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Binary and sequential search over OffHeapIntArray with long indices.
+ * binarySearch expects sorted data and returns the first matching index,
+ * like SortedIntIndex; sequentialSearch needs no order and scans each page
+ * in one pass.
+ */
+public final class OffHeapSearch {
+    private OffHeapSearch() {
+    }
+
+    // First index of key in sorted data, or -1.
+    public static long binarySearch(OffHeapIntArray data, int key) {
+        long i = lowerBound(data, key);
+        return i < data.length() && OpCounter.equal(data.get(i), key) ? i : -1;
+    }
+
+    // Number of values < key in sorted data.
+    public static long lowerBound(OffHeapIntArray data, int key) {
+        long low = 0, high = data.length();
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (OpCounter.less(data.get(mid), key)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // First index of key, or -1.
+    public static long sequentialSearch(OffHeapIntArray data, int key) {
+        long n = data.length();
+        for (long i = 0; i < n; i++) {
+            if (OpCounter.equal(data.get(i), key)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Operation counters shared by all algorithms: comparisons, swaps, element
+ * moves and an estimate of the scratch memory they allocate. The estimate is
+ * the sum of the allocateInts calls the algorithms make for their own
+ * buffers, not a JVM allocation measurement. Counting is switched on with
+ * -Ddsa.instrument=true. ENABLED is a static final constant, so when it is
+ * off the JIT folds every hook below down to the bare comparison or to
+ * nothing at all. Counters are LongAdders so parallel sorts can report from
+ * worker threads.
+ */
+public final class OpCounter {
+    public static final boolean ENABLED = Boolean.getBoolean("dsa.instrument");
+
+    private static final LongAdder COMPARISONS = new LongAdder();
+    private static final LongAdder SWAPS = new LongAdder();
+    private static final LongAdder MOVES = new LongAdder();
+    private static final LongAdder ALLOCATED = new LongAdder();
+
+    private OpCounter() {
+    }
+
+    public record Counts(long comparisons, long swaps, long moves, long scratchBytes) {
+        @Override
+        public String toString() {
+            if (!ENABLED) return "Operation counts: disabled (run with -Ddsa.instrument=true)";
+            return "Comparisons: " + comparisons + ", swaps: " + swaps + ", moves: " + moves +
+                    ", estimated scratch bytes: " + scratchBytes;
+        }
+    }
+
+    // Counted comparisons; each returns the plain result of the comparison.
+    static boolean less(int a, int b) {
+        if (ENABLED) COMPARISONS.increment();
+        return a < b;
+    }
+
+    static boolean lessOrEqual(int a, int b) {
+        if (ENABLED) COMPARISONS.increment();
+        return a <= b;
+    }
+
+    static boolean equal(int a, int b) {
+        if (ENABLED) COMPARISONS.increment();
+        return a == b;
+    }
+
+    static void compare() {
+        if (ENABLED) COMPARISONS.increment();
+    }
+
+    static void swap() {
+        if (ENABLED) SWAPS.increment();
+    }
+
+    static void move() {
+        if (ENABLED) MOVES.increment();
+    }
+
+    static void move(long count) {
+        if (ENABLED) MOVES.add(count);
+    }
+
+    // Records a working buffer of the given number of ints.
+    static void allocateInts(long count) {
+        if (ENABLED) ALLOCATED.add(count * Integer.BYTES);
+    }
+
+    public static void reset() {
+        COMPARISONS.reset();
+        SWAPS.reset();
+        MOVES.reset();
+        ALLOCATED.reset();
+    }
+
+    public static Counts snapshot() {
+        return new Counts(COMPARISONS.sum(), SWAPS.sum(), MOVES.sum(), ALLOCATED.sum());
+    }
+}
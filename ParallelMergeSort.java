@@ -0,0 +1,88 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Fork-join merge sort. Halves are sorted as separate tasks until a range
+ * drops below the threshold, where the sequential MergeSort takes over.
+ * A single auxiliary buffer is shared by all tasks; each task only touches
+ * its own slice of it.
+ */
+public class ParallelMergeSort implements SortAlgorithm {
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelMergeSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelMergeSort(ForkJoinPool pool, int threshold) {
+        if (threshold < 2) throw new IllegalArgumentException("Threshold must be at least 2.");
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    // Progress counts merged elements, as in MergeSort.
+    public void sort(int[] data, ProgressListener listener) {
+        if (data.length < 2) return;
+        if (data.length <= threshold) {
+            new MergeSort().sort(data, listener);
+            return;
+        }
+        ProgressListener.Tracker tracker = new ProgressListener.Tracker(listener, MergeSort.mergeWork(data.length));
+        tracker.start();
+        OpCounter.allocateInts(data.length);
+        pool.invoke(new SortTask(data, new int[data.length], 0, data.length - 1, threshold, tracker));
+        tracker.finish();
+    }
+
+    public String getComplexity() {
+        return "O(n log n) work, O(n) span";
+    }
+
+    @SuppressWarnings("serial")
+    private static final class SortTask extends RecursiveAction {
+        private final int[] data;
+        private final int[] buffer;
+        private final int left, right, threshold;
+        private final ProgressListener.Tracker tracker;
+
+        SortTask(int[] data, int[] buffer, int left, int right, int threshold, ProgressListener.Tracker tracker) {
+            this.data = data;
+            this.tracker = tracker;
+            this.buffer = buffer;
+            this.left = left;
+            this.right = right;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (right - left < threshold) {
+                new MergeSort().mergeSort(data, left, right, tracker);
+                return;
+            }
+            int mid = (left + right) >>> 1;
+            invokeAll(new SortTask(data, buffer, left, mid, threshold, tracker),
+                    new SortTask(data, buffer, mid + 1, right, threshold, tracker));
+            if (!OpCounter.lessOrEqual(data[mid], data[mid + 1])) merge(mid);
+            tracker.add(right - left + 1);
+        }
+
+        private void merge(int mid) {
+            System.arraycopy(data, left, buffer, left, right - left + 1);
+            OpCounter.move(2L * (right - left + 1));
+            int i = left, j = mid + 1, k = left;
+            while (i <= mid && j <= right) {
+                data[k++] = OpCounter.lessOrEqual(buffer[i], buffer[j]) ? buffer[i++] : buffer[j++];
+            }
+            while (i <= mid) data[k++] = buffer[i++];
+            while (j <= right) data[k++] = buffer[j++];
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Fork-join quick sort. Each partition step forks the two sides as separate
+ * tasks; ranges below the threshold, or past the depth limit, are finished by
+ * the sequential IntroSort, whose pivot choice and three-way partition are
+ * shared here.
+ */
+public class ParallelQuickSort implements SortAlgorithm {
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelQuickSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelQuickSort(ForkJoinPool pool, int threshold) {
+        if (threshold < 2) throw new IllegalArgumentException("Threshold must be at least 2.");
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    // Progress counts elements in their final place, as in IntroSort, from
+    // whichever worker finishes them.
+    public void sort(int[] data, ProgressListener listener) {
+        ProgressListener.Tracker tracker = new ProgressListener.Tracker(listener, data.length);
+        tracker.start();
+        if (data.length > 1) {
+            pool.invoke(new SortTask(data, 0, data.length, threshold, IntroSort.depthLimit(data.length), tracker));
+        }
+        tracker.finish();
+    }
+
+    public String getComplexity() {
+        return "O(n log n) work, O(n) span";
+    }
+
+    @SuppressWarnings("serial")
+    private static final class SortTask extends RecursiveAction {
+        private final int[] data;
+        private final int low, high, threshold, depth;
+        private final ProgressListener.Tracker tracker;
+
+        SortTask(int[] data, int low, int high, int threshold, int depth, ProgressListener.Tracker tracker) {
+            this.data = data;
+            this.tracker = tracker;
+            this.low = low;
+            this.high = high;
+            this.threshold = threshold;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low < threshold || depth == 0) {
+                if (high - low > 1) IntroSort.sort(data, low, high, IntroSort.depthLimit(high - low), tracker);
+                else tracker.add(high - low);
+                return;
+            }
+            long bounds = IntroSort.partition(data, low, high, IntroSort.choosePivot(data, low, high));
+            int lt = (int) (bounds >>> 32), gt = (int) bounds;
+            tracker.add(gt - lt);
+            invokeAll(new SortTask(data, low, lt, threshold, depth - 1, tracker),
+                    new SortTask(data, gt, high, threshold, depth - 1, tracker));
+        }
+    }
+}
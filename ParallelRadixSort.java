@@ -0,0 +1,106 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/*
+ * Multi-threaded variant of RadixSort. Each pass splits the input into one
+ * block per worker; workers count their block's bytes into private
+ * histograms, the histograms are combined into per-worker write offsets, and
+ * every worker then scatters its own block. Offsets keep the scatter stable,
+ * so the result equals the sequential sort.
+ */
+public class ParallelRadixSort implements SortAlgorithm {
+    static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelRadixSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelRadixSort(ForkJoinPool pool, int threshold) {
+        if (threshold < 2) throw new IllegalArgumentException("Threshold must be at least 2.");
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    // Progress is reported once per byte pass, between the parallel phases.
+    public void sort(int[] data, ProgressListener listener) {
+        int n = data.length;
+        if (n < 2) return;
+        int workers = Math.min(pool.getParallelism(), Math.max(1, n / threshold));
+        if (workers < 2) {
+            RadixSort.sort(data, new int[n], listener);
+            return;
+        }
+
+        int[] bounds = new int[workers + 1];
+        for (int w = 0; w <= workers; w++) bounds[w] = (int) ((long) n * w / workers);
+        int[][] histograms = new int[workers][RadixSort.RADIX];
+        int[] src = data, dst = new int[n];
+        OpCounter.allocateInts(n);
+
+        for (int pass = 0; pass < RadixSort.PASSES; pass++) {
+            listener.progress(pass, RadixSort.PASSES);
+            int shift = pass * 8;
+            int[] from = src;
+            runAll(workers, w -> {
+                int[] h = histograms[w];
+                Arrays.fill(h, 0);
+                for (int i = bounds[w]; i < bounds[w + 1]; i++) {
+                    h[((from[i] ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++;
+                }
+            });
+
+            // Turn counts into write offsets: bucket-major, then worker order.
+            int sum = 0;
+            boolean skip = false;
+            for (int b = 0; b < RadixSort.RADIX; b++) {
+                int bucketTotal = 0;
+                for (int w = 0; w < workers; w++) {
+                    int c = histograms[w][b];
+                    histograms[w][b] = sum;
+                    sum += c;
+                    bucketTotal += c;
+                }
+                if (bucketTotal == n) skip = true;
+            }
+            if (skip) continue;
+
+            int[] to = dst;
+            runAll(workers, w -> {
+                int[] offsets = histograms[w];
+                for (int i = bounds[w]; i < bounds[w + 1]; i++) {
+                    int value = from[i];
+                    to[offsets[((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+                }
+            });
+            OpCounter.move(n);
+            src = to;
+            dst = from;
+        }
+        if (src != data) System.arraycopy(src, 0, data, 0, n);
+        listener.progress(RadixSort.PASSES, RadixSort.PASSES);
+    }
+
+    public String getComplexity() {
+        return "O(nk / p), k = 4 byte passes";
+    }
+
+    private void runAll(int workers, IntConsumer body) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            tasks.add(pool.submit(() -> body.accept(worker)));
+        }
+        for (ForkJoinTask<?> task : tasks) task.join();
+    }
+}
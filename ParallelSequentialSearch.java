@@ -0,0 +1,132 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Multi-core linear scan for unsorted data. The array is cut into blocks
+ * that the workers claim in ascending order from a shared counter, each
+ * block scanned by SequentialSearch (SIMD when available). A shared "best
+ * index so far" lets a worker stop as soon as the next block starts past a
+ * hit already found, and because blocks are claimed in order every block
+ * before that hit is still scanned, so search returns the lowest matching
+ * index, the same answer as the sequential loop. Arrays below the threshold
+ * are scanned on the calling thread.
+ */
+public class ParallelSequentialSearch implements SearchAlgorithm {
+    static final int DEFAULT_THRESHOLD = 1 << 18;
+    static final int BLOCK = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final SequentialSearch scanner = new SequentialSearch();
+
+    public ParallelSequentialSearch() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelSequentialSearch(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) throw new IllegalArgumentException("Threshold must be at least 1.");
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public int search(int[] data, int key) {
+        if (data.length < threshold) return scanner.search(data, key);
+        AtomicInteger best = new AtomicInteger(Integer.MAX_VALUE);
+        run(data.length, (from, to) -> {
+            if (from >= best.get()) return false;
+            int hit = scanner.indexOf(data, from, to, key);
+            if (hit >= 0) best.accumulateAndGet(hit, Math::min);
+            return true;
+        });
+        int result = best.get();
+        return result == Integer.MAX_VALUE ? -1 : result;
+    }
+
+    public int countEqual(int[] data, int key) {
+        if (data.length < threshold) return scanner.countEqual(data, key);
+        LongAdder count = new LongAdder();
+        run(data.length, (from, to) -> {
+            count.add(scanner.countEqual(data, from, to, key));
+            return true;
+        });
+        return count.intValue();
+    }
+
+    // Every index holding key, ascending.
+    public int[] indicesOf(int[] data, int key) {
+        if (data.length < threshold) {
+            IntList hits = new IntList();
+            collect(data, 0, data.length, key, hits);
+            return hits.toArray();
+        }
+        IntList[] perBlock = new IntList[blockCount(data.length)];
+        run(data.length, (from, to) -> {
+            IntList hits = new IntList();
+            collect(data, from, to, key, hits);
+            if (!hits.isEmpty()) perBlock[from / BLOCK] = hits;
+            return true;
+        });
+        IntList result = new IntList();
+        for (IntList hits : perBlock) {
+            if (hits != null) result.addAll(hits);
+        }
+        return result.toArray();
+    }
+
+    public String getComplexity() {
+        return "O(n) work, O(n / p) time on p cores";
+    }
+
+    private void collect(int[] data, int from, int to, int key, IntList hits) {
+        for (int i = scanner.indexOf(data, from, to, key); i >= 0; i = scanner.indexOf(data, i + 1, to, key)) {
+            hits.add(i);
+        }
+    }
+
+    private interface BlockTask {
+        // Scans data[from, to); returning false stops this worker.
+        boolean scan(int from, int to);
+    }
+
+    private static int blockCount(int length) {
+        return (int) (((long) length + BLOCK - 1) / BLOCK);
+    }
+
+    private void run(int length, BlockTask task) {
+        AtomicInteger next = new AtomicInteger();
+        int blocks = blockCount(length);
+        int workers = Math.min(pool.getParallelism(), blocks);
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ScanWorker[] forked = new ScanWorker[workers];
+                for (int w = 0; w < workers; w++) forked[w] = new ScanWorker(length, blocks, next, task);
+                invokeAll(forked);
+            }
+        });
+    }
+
+    @SuppressWarnings("serial")
+    private static final class ScanWorker extends RecursiveAction {
+        private final int length, blocks;
+        private final AtomicInteger next;
+        private final BlockTask task;
+
+        ScanWorker(int length, int blocks, AtomicInteger next, BlockTask task) {
+            this.length = length;
+            this.blocks = blocks;
+            this.next = next;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            for (int b = next.getAndIncrement(); b < blocks; b = next.getAndIncrement()) {
+                int from = b * BLOCK;
+                if (!task.scan(from, Math.min(from + BLOCK, length))) return;
+            }
+        }
+    }
+}
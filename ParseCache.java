@@ -0,0 +1,231 @@
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/*
+ * On-disk cache of parsed input files, stored as raw IntDataset files named
+ * after a hash of the source path. An entry is reused when the source size
+ * and modification time still match; if only the time changed, the source
+ * is re-hashed and the entry is reused when the 64-bit content hash (the
+ * head of its SHA-256) is the same. A hit is a mapped bulk read, so text and
+ * POI parsing are skipped. Parsers feed the bytes they read to a
+ * SourceDigest, so a miss reads the source once; only a parser that does not
+ * read the file front to back (the .docx zip reader) leaves the hashing to a
+ * second pass.
+ *
+ * Off unless the JVM runs with -Ddsa.cache=true; -Ddsa.cache.dir (default
+ * $TMPDIR/dsa-parse-cache) and -Ddsa.cache.maxBytes (default 1 GB) set the
+ * location and size. Datasets larger than that are never stored, and the
+ * least recently used entries are removed once the size is exceeded. Cache
+ * failures never fail a read: the input is parsed as if there were no cache.
+ */
+public final class ParseCache {
+    public static final boolean ENABLED = Boolean.getBoolean("dsa.cache");
+    static final long DEFAULT_MAX_BYTES = 1L << 30;
+
+    private static ParseCache defaultCache;
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // Parses file; a parser that reads it front to back feeds every byte to
+    // digest on the way, and one that does not leaves digest alone.
+    @FunctionalInterface
+    public interface Parser {
+        IntList parse(File file, SourceDigest digest) throws IOException;
+    }
+
+    // SHA-256 of the bytes a parser read, and how many there were, which
+    // tells the cache whether it saw the whole source.
+    public static final class SourceDigest {
+        private final MessageDigest sha = sha256();
+        private long bytes;
+
+        public void update(ByteBuffer data) {
+            bytes += data.remaining();
+            sha.update(data);
+        }
+
+        public void update(byte[] data, int from, int length) {
+            bytes += length;
+            sha.update(data, from, length);
+        }
+
+        // Passes everything read through in to the digest.
+        public InputStream wrap(InputStream in) {
+            return new FilterInputStream(in) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) update(new byte[] {(byte) b}, 0, 1);
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int from, int length) throws IOException {
+                    int n = super.read(buffer, from, length);
+                    if (n > 0) update(buffer, from, n);
+                    return n;
+                }
+
+                // Skipped bytes are read, so the digest still sees them.
+                @Override
+                public long skip(long n) throws IOException {
+                    byte[] skipped = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+                    return Math.max(read(skipped, 0, skipped.length), 0);
+                }
+            };
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        long value() {
+            return ByteBuffer.wrap(sha.digest()).getLong();
+        }
+    }
+
+    public ParseCache(Path directory, long maxBytes) {
+        if (maxBytes < 0) throw new IllegalArgumentException("Negative cache size.");
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public static synchronized ParseCache defaultCache() {
+        if (defaultCache == null) {
+            Path directory = Path.of(System.getProperty("dsa.cache.dir",
+                    Path.of(System.getProperty("java.io.tmpdir"), "dsa-parse-cache").toString()));
+            defaultCache = new ParseCache(directory, Long.getLong("dsa.cache.maxBytes", DEFAULT_MAX_BYTES));
+        }
+        return defaultCache;
+    }
+
+    public IntList load(File source, Parser parser) throws IOException {
+        Path path = source.toPath();
+        BasicFileAttributes before = Files.readAttributes(path, BasicFileAttributes.class);
+        Path entry = entryFor(path);
+        IntList cached = lookup(path, entry, before);
+        if (cached != null) return cached;
+
+        SourceDigest digest = new SourceDigest();
+        IntList parsed = parser.parse(source, digest);
+        store(path, entry, before, parsed, digest);
+        return parsed;
+    }
+
+    private IntList lookup(Path source, Path entry, BasicFileAttributes attributes) {
+        try {
+            if (!Files.exists(entry)) return null;
+            IntDataset.Header header = IntDataset.readHeader(entry);
+            if (header.sourceSize() != attributes.size()) return null;
+            if (header.sourceModified() != attributes.lastModifiedTime().toMillis()
+                    && header.sourceHash() != contentHash(source)) {
+                return null;
+            }
+            IntList values = IntDataset.read(entry);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return values;
+        } catch (IOException e) {
+            // Damaged or unreadable entry; parse again and overwrite it.
+            return null;
+        }
+    }
+
+    private void store(Path source, Path entry, BasicFileAttributes before, IntList values, SourceDigest digest) {
+        if (IntDataset.HEADER_SIZE + (long) values.size() * Integer.BYTES > maxBytes) return;
+        try {
+            Files.createDirectories(directory);
+            long hash = digest.bytes() == before.size() ? digest.value() : contentHash(source);
+            // The source changed while it was parsed; the values may not match it.
+            BasicFileAttributes after = Files.readAttributes(source, BasicFileAttributes.class);
+            if (after.size() != before.size() || !after.lastModifiedTime().equals(before.lastModifiedTime())) return;
+
+            Path temp = Files.createTempFile(directory, "entry", ".tmp");
+            try {
+                IntDataset.write(temp, values.array(), values.size(), IntDataset.Encoding.RAW,
+                        hash, before.size(), before.lastModifiedTime().toMillis());
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            prune();
+        } catch (IOException e) {
+            // The cache is an optimisation only.
+        }
+    }
+
+    // Deletes least recently used entries until the cache fits in maxBytes.
+    private void prune() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + IntDataset.EXTENSION)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+                total += Files.size(entry);
+            }
+        }
+        if (total <= maxBytes) return;
+        entries.sort(Comparator.comparing(entry -> {
+            try {
+                return Files.getLastModifiedTime(entry);
+            } catch (IOException e) {
+                return FileTime.fromMillis(0);
+            }
+        }));
+        for (Path entry : entries) {
+            if (total <= maxBytes) break;
+            long size = Files.size(entry);
+            if (Files.deleteIfExists(entry)) total -= size;
+        }
+    }
+
+    public void clear() throws IOException {
+        if (!Files.isDirectory(directory)) return;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + IntDataset.EXTENSION)) {
+            for (Path entry : stream) Files.deleteIfExists(entry);
+        }
+    }
+
+    Path entryFor(Path source) {
+        byte[] digest = sha256().digest(source.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(HexFormat.of().formatHex(digest, 0, 16) + IntDataset.EXTENSION);
+    }
+
+    static long contentHash(Path source) throws IOException {
+        SourceDigest digest = new SourceDigest();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MappedIntParser.WINDOW_SIZE) {
+                long length = Math.min(MappedIntParser.WINDOW_SIZE, size - position);
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+        }
+        return digest.value();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/*
+ * Runs a long job in a SwingWorker behind a modal dialog with a progress bar
+ * and a Cancel button, so the Event Dispatch Thread keeps painting. The bar
+ * is indeterminate until the job's ProgressListener first reports. Cancel
+ * makes the next progress report throw CancellationException inside the job.
+ * Jobs that never report progress (parsing a file, building an index) cannot
+ * see a cancel, so they run with cancellable false and a disabled button
+ * rather than a dialog that closes while the work goes on. run() blocks the
+ * caller (the modal dialog keeps pumping events) and returns the job's
+ * result, or null when the job was cancelled or failed.
+ */
+final class ProgressDialog {
+    @FunctionalInterface
+    interface Job<T> {
+        T run(ProgressListener listener) throws Exception;
+    }
+
+    private ProgressDialog() {
+    }
+
+    static <T> T run(Component parent, String message, Job<T> job) {
+        return run(parent, message, true, job);
+    }
+
+    static <T> T run(Component parent, String message, boolean cancellable, Job<T> job) {
+        JDialog dialog = new JDialog(parent == null ? null : SwingUtilities.getWindowAncestor(parent),
+                "Working", Dialog.ModalityType.APPLICATION_MODAL);
+        JProgressBar bar = new JProgressBar(0, 100);
+        bar.setIndeterminate(true);
+        bar.setStringPainted(true);
+        bar.setString("");
+        JButton cancel = new JButton("Cancel");
+        cancel.setEnabled(cancellable);
+        if (!cancellable) cancel.setToolTipText("This step cannot be interrupted");
+
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return job.run((done, total) -> {
+                    if (isCancelled()) throw new CancellationException();
+                    int percent = total <= 0 ? 0 : (int) Math.min(100, done * 100 / total);
+                    if (percent != getProgress()) setProgress(percent);
+                });
+            }
+
+            @Override
+            protected void done() {
+                dialog.dispose();
+            }
+        };
+        worker.addPropertyChangeListener(event -> {
+            if ("progress".equals(event.getPropertyName())) {
+                int percent = (Integer) event.getNewValue();
+                bar.setIndeterminate(false);
+                bar.setValue(percent);
+                bar.setString(percent + "%");
+            }
+        });
+        cancel.addActionListener(event -> {
+            cancel.setEnabled(false);
+            bar.setString("Cancelling...");
+            worker.cancel(true);
+        });
+        // Start only once the dialog is showing, so done() can never run
+        // before setVisible and leave the modal dialog open.
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent event) {
+                worker.execute();
+            }
+
+            @Override
+            public void windowClosing(WindowEvent event) {
+                if (cancel.isEnabled()) cancel.doClick();
+            }
+        });
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+
+        JPanel panel = new JPanel(new BorderLayout(8, 8));
+        panel.setBorder(BorderFactory.createEmptyBorder(12, 12, 12, 12));
+        panel.add(new JLabel(message), BorderLayout.NORTH);
+        panel.add(bar, BorderLayout.CENTER);
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        buttons.add(cancel);
+        panel.add(buttons, BorderLayout.SOUTH);
+        dialog.setContentPane(panel);
+        dialog.setSize(360, 140);
+        dialog.setLocationRelativeTo(parent);
+        dialog.setVisible(true);
+
+        try {
+            return worker.get();
+        } catch (CancellationException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) return null;
+            JOptionPane.showMessageDialog(parent, "Failed: " + e.getCause().getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+    }
+}
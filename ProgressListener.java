@@ -0,0 +1,48 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Progress callback for long-running sorts. Algorithms report how much of the
+ * work is done at coarse points (per outer pass, per merge pass), never per
+ * comparison. A listener that throws CancellationException aborts the sort;
+ * the array is then left partially sorted.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    ProgressListener NONE = (done, total) -> {
+    };
+
+    void progress(long done, long total);
+
+    // Adds up finished work from recursive or fork-join sorts, whose pieces
+    // finish in no fixed order, and reports it each time another hundredth
+    // of the total (at least MIN_STEP units) is done. Safe to share between
+    // worker threads; a cancellation thrown there aborts the whole sort.
+    final class Tracker {
+        static final long MIN_STEP = 1 << 14;
+        public static final Tracker NONE = new Tracker(ProgressListener.NONE, 0);
+
+        private final ProgressListener listener;
+        private final long total, step;
+        private final AtomicLong done = new AtomicLong();
+
+        public Tracker(ProgressListener listener, long total) {
+            this.listener = listener;
+            this.total = total;
+            this.step = Math.max(MIN_STEP, total / 100);
+        }
+
+        public void add(long work) {
+            if (listener == ProgressListener.NONE) return;
+            long now = done.addAndGet(work);
+            if (now / step != (now - work) / step) listener.progress(Math.min(now, total), total);
+        }
+
+        public void start() {
+            listener.progress(0, total);
+        }
+
+        public void finish() {
+            listener.progress(total, total);
+        }
+    }
+}
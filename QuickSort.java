@@ -0,0 +1,54 @@
+/*
+ * Textbook quick sort with a Lomuto partition around the last element. It is
+ * quadratic, and recurses once per element, on sorted or all-equal input, so
+ * the menus and AlgorithmRegistry hand out IntroSort for "quick sort"; this
+ * class is kept as the baseline PlainQuickSortBenchmark measures.
+ */
+public class QuickSort implements SortAlgorithm {
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    // Progress counts elements in their final place: each pivot and each
+    // range of one.
+    public void sort(int[] data, ProgressListener listener) {
+        ProgressListener.Tracker tracker = new ProgressListener.Tracker(listener, data.length);
+        tracker.start();
+        quickSort(data, 0, data.length - 1, tracker);
+        tracker.finish();
+    }
+
+    private void quickSort(int[] data, int low, int high, ProgressListener.Tracker tracker) {
+        if (low < high) {
+            int pi = partition(data, low, high);
+            tracker.add(1);
+            quickSort(data, low, pi - 1, tracker);
+            quickSort(data, pi + 1, high, tracker);
+        } else if (low == high) {
+            tracker.add(1);
+        }
+    }
+
+    private int partition(int[] data, int low, int high) {
+        int pivot = data[high];
+        int i = low - 1;
+        for (int j = low; j < high; j++) {
+            if (OpCounter.less(data[j], pivot)) {
+                OpCounter.swap();
+                i++;
+                int temp = data[i];
+                data[i] = data[j];
+                data[j] = temp;
+            }
+        }
+        OpCounter.swap();
+        int temp = data[i + 1];
+        data[i + 1] = data[high];
+        data[high] = temp;
+        return i + 1;
+    }
+
+    public String getComplexity() {
+        return "O(n log n) average, O(n^2) worst";
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * LSD radix sort over the four bytes of each int. Keys have their sign bit
+ * flipped so negatives order before positives, all byte histograms are built
+ * in one read of the input, and a pass is skipped when every key shares that
+ * byte. One scratch buffer is reused for all passes.
+ */
+public class RadixSort implements SortAlgorithm {
+    static final int RADIX = 256;
+    static final int PASSES = 4;
+
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    // Progress is reported once per byte pass.
+    public void sort(int[] data, ProgressListener listener) {
+        if (data.length < 2) return;
+        OpCounter.allocateInts(data.length);
+        sort(data, new int[data.length], listener);
+    }
+
+    // Sorts data using scratch (at least data.length long) as the second buffer.
+    static void sort(int[] data, int[] scratch) {
+        sort(data, scratch, ProgressListener.NONE);
+    }
+
+    static void sort(int[] data, int[] scratch, ProgressListener listener) {
+        int n = data.length;
+        if (n < 2) return;
+        if (scratch.length < n) throw new IllegalArgumentException("Scratch shorter than the data.");
+        listener.progress(0, PASSES);
+        int[] counts = new int[PASSES * RADIX];
+        for (int value : data) {
+            int key = value ^ Integer.MIN_VALUE;
+            counts[key & 0xFF]++;
+            counts[RADIX + ((key >>> 8) & 0xFF)]++;
+            counts[2 * RADIX + ((key >>> 16) & 0xFF)]++;
+            counts[3 * RADIX + (key >>> 24)]++;
+        }
+
+        int[] src = data, dst = scratch;
+        int[] offsets = new int[RADIX];
+        for (int pass = 0; pass < PASSES; pass++) {
+            int shift = pass * 8, base = pass * RADIX;
+            listener.progress(pass, PASSES);
+            if (counts[base + (((src[0] ^ Integer.MIN_VALUE) >>> shift) & 0xFF)] == n) continue;
+            int sum = 0;
+            for (int b = 0; b < RADIX; b++) {
+                offsets[b] = sum;
+                sum += counts[base + b];
+            }
+            for (int i = 0; i < n; i++) {
+                int value = src[i];
+                dst[offsets[((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+            OpCounter.move(n);
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != data) {
+            System.arraycopy(src, 0, data, 0, n);
+            OpCounter.move(n);
+        }
+        listener.progress(PASSES, PASSES);
+    }
+
+    public String getComplexity() {
+        return "O(nk), k = 4 byte passes";
+    }
+}
@@ -0,0 +1,151 @@
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.io.File;
+
+/*
+ * Result window for sorted output. Values sit behind a table model that
+ * reads straight from the int[], and JTable only renders the rows in view,
+ * so ten million values cost no more to show than ten. Paging buttons and a
+ * "Go to index" field move through the data one screen at a time, and
+ * "Export..." streams the values to a text file, or to a binary IntDataset
+ * when the name ends in ".dsai", without building a String of them.
+ */
+final class ResultView {
+    private ResultView() {
+    }
+
+    @SuppressWarnings("serial")
+    static final class IntArrayTableModel extends AbstractTableModel {
+        private final int[] values;
+
+        IntArrayTableModel(int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public int getRowCount() {
+            return values.length;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 2;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return column == 0 ? "Index" : "Value";
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return Integer.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return column == 0 ? row : values[row];
+        }
+    }
+
+    // Shows summary above a paged table of values; blocks until closed.
+    static void show(Component parent, String title, String summary, int[] values) {
+        JDialog dialog = new JDialog(parent == null ? null : SwingUtilities.getWindowAncestor(parent),
+                title, Dialog.ModalityType.APPLICATION_MODAL);
+        JTable table = new JTable(new IntArrayTableModel(values));
+        table.setAutoCreateRowSorter(false);
+        table.setFillsViewportHeight(true);
+        JScrollPane scroll = new JScrollPane(table);
+
+        JLabel position = new JLabel();
+        Runnable updatePosition = () -> {
+            Rectangle view = table.getVisibleRect();
+            int first = table.rowAtPoint(view.getLocation());
+            int last = table.rowAtPoint(new Point(0, view.y + view.height - 1));
+            if (last < 0) last = values.length - 1;
+            position.setText(values.length == 0 ? "No values"
+                    : "Rows " + Math.max(first, 0) + "-" + last + " of " + values.length);
+        };
+        scroll.getViewport().addChangeListener(event -> updatePosition.run());
+
+        JButton first = new JButton("<<");
+        JButton previous = new JButton("< Page");
+        JButton next = new JButton("Page >");
+        JButton last = new JButton(">>");
+        first.addActionListener(event -> scrollToRow(table, 0));
+        last.addActionListener(event -> scrollToRow(table, values.length - 1));
+        previous.addActionListener(event -> scrollToRow(table, topRow(table) - pageRows(table)));
+        next.addActionListener(event -> scrollToRow(table, topRow(table) + pageRows(table)));
+
+        JTextField goTo = new JTextField(10);
+        goTo.addActionListener(event -> {
+            try {
+                int row = Integer.parseInt(goTo.getText().trim());
+                scrollToRow(table, row);
+                if (row >= 0 && row < values.length) table.setRowSelectionInterval(row, row);
+            } catch (NumberFormatException e) {
+                goTo.selectAll();
+            }
+        });
+
+        JButton export = new JButton("Export...");
+        export.addActionListener(event -> export(dialog, values));
+
+        JPanel navigation = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        navigation.add(first);
+        navigation.add(previous);
+        navigation.add(next);
+        navigation.add(last);
+        navigation.add(new JLabel("Go to index:"));
+        navigation.add(goTo);
+        navigation.add(position);
+        navigation.add(export);
+
+        JTextArea summaryArea = new JTextArea(summary);
+        summaryArea.setEditable(false);
+        summaryArea.setOpaque(false);
+        summaryArea.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(summaryArea, BorderLayout.NORTH);
+        panel.add(scroll, BorderLayout.CENTER);
+        panel.add(navigation, BorderLayout.SOUTH);
+        dialog.setContentPane(panel);
+        dialog.setSize(640, 520);
+        dialog.setLocationRelativeTo(parent);
+        updatePosition.run();
+        dialog.setVisible(true);
+    }
+
+    private static void export(Component parent, int[] values) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export " + values.length + " values (.txt, or " + IntDataset.EXTENSION + " for binary)");
+        chooser.setSelectedFile(new File("sorted.txt"));
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+        File file = chooser.getSelectedFile();
+        Boolean written = ProgressDialog.run(parent, "Writing " + file.getName() + "...", listener -> {
+            IntTextWriter.export(file.toPath(), values, values.length, listener);
+            return true;
+        });
+        if (written != null) JOptionPane.showMessageDialog(parent, "Wrote " + values.length + " values to " + file);
+    }
+
+    private static int topRow(JTable table) {
+        return Math.max(0, table.rowAtPoint(table.getVisibleRect().getLocation()));
+    }
+
+    private static int pageRows(JTable table) {
+        return Math.max(1, table.getVisibleRect().height / table.getRowHeight() - 1);
+    }
+
+    // Scrolls so row is the top visible row, clamped to the table.
+    private static void scrollToRow(JTable table, int row) {
+        int rows = table.getRowCount();
+        if (rows == 0) return;
+        row = Math.max(0, Math.min(row, rows - 1));
+        Rectangle cell = table.getCellRect(row, 0, true);
+        Rectangle view = table.getVisibleRect();
+        table.scrollRectToVisible(new Rectangle(cell.x, cell.y, view.width, view.height));
+    }
+}
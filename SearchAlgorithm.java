@@ -1,5 +1,32 @@
-import java.util.List;
-
 public interface SearchAlgorithm {
-    int search(List<Integer> data, int target);
-}
\ No newline at end of file
+    int search(int[] data, int key);
+    String getComplexity();
+
+    default int search(IntList data, int key) {
+        return search(data.array(), key);
+    }
+
+    // Searches live sorted data chunk by chunk; the result is the position in
+    // sorted order of the first match, as SortedIntList.indexOf, or -1.
+    default int search(SortedIntList data, int key) {
+        return data.search(this, key);
+    }
+
+    // Runs one search with freshly reset operation counters and returns them.
+    default OpCounter.Counts searchCounted(int[] data, int key) {
+        OpCounter.reset();
+        search(data, key);
+        return OpCounter.snapshot();
+    }
+
+    // Looks up every key against the same data; results[i] answers keys[i].
+    default int[] searchAll(int[] data, int[] keys) {
+        int[] results = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) results[i] = search(data, keys[i]);
+        return results;
+    }
+
+    default int[] searchAll(SortedIntList data, int[] keys) {
+        return data.searchAll(this, keys);
+    }
+}
@@ -2,8 +2,9 @@
  * Java GUI Application for Searching and Sorting
  * Features:
  * - Menu-driven using Swing dialogs
- * - Searching: Sequential and Binary Search
+ * - Searching: Sequential (single or multi-core) and Binary Search
  * - Sorting: Bubble, Heap, Insertion, Quick, Merge, Selection, Radix
+ *   (plus parallel Quick, Merge and Radix for large arrays)
  * - Input: Manual or from .txt/.doc/.docx files (using Apache POI for Word files)
  * - Strict exception handling
  * - Clean OOP design with polymorphism
@@ -13,7 +14,6 @@
 import javax.swing.*;
 import java.io.*;
 import java.util.*;
-import java.nio.file.*;
 import java.awt.*;
 
 public class SearchSortGUIApp {
@@ -45,7 +45,7 @@ public class SearchSortGUIApp {
 
     private void searchingMenu() {
         while (true) {
-            String[] searchOptions = {"Sequential Search", "Binary Search", "Back"};
+            String[] searchOptions = {"Sequential Search", "Binary Search", "Parallel Sequential Search", "Back"};
             int choice = JOptionPane.showOptionDialog(null,
                     "Welcome to Searching. Choose an algorithm:",
                     "Search Menu",
@@ -55,16 +55,20 @@ public class SearchSortGUIApp {
                     searchOptions,
                     searchOptions[0]);
 
-            if (choice == 2 || choice == JOptionPane.CLOSED_OPTION) return;
+            if (choice == searchOptions.length - 1 || choice == JOptionPane.CLOSED_OPTION) return;
 
             int[] data = getInputArray();
             if (data == null) continue;
 
+            if (choice == 1) {
+                binarySearchSession(data);
+                continue;
+            }
+
             int key = getSearchKey();
             if (key == Integer.MIN_VALUE) continue;
 
-            SearchAlgorithm algorithm = (choice == 0) ? new SequentialSearch() : new BinarySearch();
-            if (choice == 1) Arrays.sort(data);
+            SearchAlgorithm algorithm = choice == 2 ? new ParallelSequentialSearch() : new SequentialSearch();
 
             long startTime = System.nanoTime();
             int result = algorithm.search(data, key);
@@ -76,11 +80,41 @@ public class SearchSortGUIApp {
         }
     }
 
+    // Sorts the data once into an index, then answers keys until the user cancels.
+    private void binarySearchSession(int[] data) {
+        long[] buildTime = new long[1];
+        SortedIntIndex index = ProgressDialog.run(null, "Indexing " + data.length + " values...", false, listener -> {
+            long buildStart = System.nanoTime();
+            SortedIntIndex built = SortedIntIndex.build(data);
+            buildTime[0] = System.nanoTime() - buildStart;
+            return built;
+        });
+        if (index == null) return;
+        String buildNote = "\nIndex built once in " + buildTime[0] / 1_000 + " µs" +
+                (index.wasSorted() ? " (input was already sorted)" : "");
+
+        while (true) {
+            int key = getSearchKey();
+            if (key == Integer.MIN_VALUE) return;
+
+            long startTime = System.nanoTime();
+            int result = index.indexOf(key);
+            long duration = System.nanoTime() - startTime;
+
+            String msg = (result == -1 ? "Key not found." : "Key found at index: " + result + " (of the original input)") +
+                    "\nEmpirical time: " + duration / 1_000 + " µs\nTheoretical time: " + new BinarySearch().getComplexity() +
+                    buildNote;
+            JOptionPane.showMessageDialog(null, msg, "Search Result", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
     private void sortingMenu() {
         while (true) {
             String[] sortOptions = {
                     "Bubble Sort", "Heap Sort", "Insertion Sort", "Quick Sort",
-                    "Merge Sort", "Selection Sort", "Radix Sort", "Back"
+                    "Merge Sort", "Selection Sort", "Radix Sort",
+                    "Parallel Quick Sort", "Parallel Merge Sort", "Parallel Radix Sort",
+                    "Intro Sort", "Adaptive Merge Sort", "Auto (pick for this input)", "Back"
             };
             int choice = JOptionPane.showOptionDialog(null,
                     "Welcome to Sorting. Choose an algorithm:",
@@ -91,7 +125,7 @@ public class SearchSortGUIApp {
                     sortOptions,
                     sortOptions[0]);
 
-            if (choice == 7 || choice == JOptionPane.CLOSED_OPTION) return;
+            if (choice == sortOptions.length - 1 || choice == JOptionPane.CLOSED_OPTION) return;
 
             int[] data = getInputArray();
             if (data == null) continue;
@@ -101,29 +135,52 @@ public class SearchSortGUIApp {
                 case 0 -> algorithm = new BubbleSort();
                 case 1 -> algorithm = new HeapSort();
                 case 2 -> algorithm = new InsertionSort();
-                case 3 -> algorithm = new QuickSort();
+                case 3 -> algorithm = new IntroSort();
                 case 4 -> algorithm = new MergeSort();
                 case 5 -> algorithm = new SelectionSort();
                 case 6 -> algorithm = new RadixSort();
-                default -> continue;
+                case 7 -> algorithm = new ParallelQuickSort();
+                case 8 -> algorithm = new ParallelMergeSort();
+                case 9 -> algorithm = new ParallelRadixSort();
+                case 10 -> algorithm = new IntroSort();
+                case 11 -> algorithm = new AdaptiveMergeSort();
+                case 12 -> algorithm = new AutoSort();
+                default -> {
+                    continue;
+                }
             }
 
-            long startTime = System.nanoTime();
-            algorithm.sort(data);
-            long duration = System.nanoTime() - startTime;
-
-            JOptionPane.showMessageDialog(null,
-                    "Sorted Result: " + Arrays.toString(data) +
-                            "\nEmpirical time: " + duration / 1_000 + " µs\nTheoretical time: " + algorithm.getComplexity(),
-                    "Sort Result",
-                    JOptionPane.INFORMATION_MESSAGE);
+            // Sort and the opt-in measurement run in background workers;
+            // Cancel on the measurement only skips the extra report.
+            int[] original = TimeUtils.hasMeasuredReport(data.length) ? data.clone() : null;
+            long[] duration = new long[1];
+            SortAlgorithm chosen = algorithm;
+            int[] sorted = ProgressDialog.run(null, sortOptions[choice] + " on " + data.length + " values...", listener -> {
+                long startTime = System.nanoTime();
+                chosen.sort(data, listener);
+                duration[0] = System.nanoTime() - startTime;
+                return data;
+            });
+            if (sorted == null) continue;
+            // Before measuring: AutoSort reports the choice of its last run.
+            String complexity = algorithm.getComplexity();
+            String measured = original == null ? "" :
+                    ProgressDialog.run(null, "Measuring growth (Cancel to skip)...",
+                            listener -> TimeUtils.getMeasuredReport(chosen, original, listener));
+
+            ResultView.show(null, "Sort Result",
+                    "Sorted " + sorted.length + " values" +
+                            "\nEmpirical time: " + duration[0] / 1_000 + " µs\nTheoretical time: " + complexity +
+                            (measured == null || measured.isEmpty() ? "" : "\n" + measured),
+                    sorted);
         }
     }
 
     private int getSearchKey() {
         try {
             String input = JOptionPane.showInputDialog("Enter search key (integer):");
-            return Integer.parseInt(input);
+            if (input == null) return Integer.MIN_VALUE;
+            return Integer.parseInt(input.trim());
         } catch (Exception e) {
             JOptionPane.showMessageDialog(null, "Invalid input.", "Error", JOptionPane.ERROR_MESSAGE);
             return Integer.MIN_VALUE;
@@ -159,8 +216,8 @@ public class SearchSortGUIApp {
                 int result = fileChooser.showOpenDialog(null);
                 if (result == JFileChooser.APPROVE_OPTION) {
                     File file = fileChooser.getSelectedFile();
-                    String text = extractTextFromFile(file);
-                    return Arrays.stream(text.split("[ ,]+")).mapToInt(Integer::parseInt).toArray();
+                    return ProgressDialog.run(null, "Reading " + file.getName() + "...", false,
+                            listener -> FileInputHandler.readFromFile(file).array());
                 }
             } catch (Exception e) {
                 JOptionPane.showMessageDialog(null, "Failed to read file.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -168,227 +225,4 @@ public class SearchSortGUIApp {
         }
         return null;
     }
-
-    private String extractTextFromFile(File file) throws Exception {
-        String name = file.getName().toLowerCase();
-        if (name.endsWith(".txt")) {
-            return Files.readString(file.toPath());
-        } else if (name.endsWith(".docx")) {
-            return ""; // Apache POI docx implementation placeholder
-        } else if (name.endsWith(".doc")) {
-            return ""; // Apache POI doc implementation placeholder
-        } else throw new IllegalArgumentException("Unsupported file type.");
-    }
-}
-
-// Interfaces
-interface SearchAlgorithm {
-    int search(int[] data, int key);
-    String getComplexity();
-}
-
-interface SortAlgorithm {
-    void sort(int[] data);
-    String getComplexity();
-}
-
-// Searching Implementations
-class SequentialSearch implements SearchAlgorithm {
-    public int search(int[] data, int key) {
-        for (int i = 0; i < data.length; i++) {
-            if (data[i] == key) return i;
-        }
-        return -1;
-    }
-    public String getComplexity() {
-        return "O(n)";
-    }
-}
-
-class BinarySearch implements SearchAlgorithm {
-    public int search(int[] data, int key) {
-        int low = 0, high = data.length - 1;
-        while (low <= high) {
-            int mid = (low + high) / 2;
-            if (data[mid] == key) return mid;
-            else if (data[mid] < key) low = mid + 1;
-            else high = mid - 1;
-        }
-        return -1;
-    }
-    public String getComplexity() {
-        return "O(log n)";
-    }
-}
-
-// Sorting Implementations
-class BubbleSort implements SortAlgorithm {
-    public void sort(int[] data) {
-        int n = data.length;
-        for (int i = 0; i < n - 1; i++) {
-            for (int j = 0; j < n - i - 1; j++) {
-                if (data[j] > data[j + 1]) {
-                    int temp = data[j];
-                    data[j] = data[j + 1];
-                    data[j + 1] = temp;
-                }
-            }
-        }
-    }
-    public String getComplexity() {
-        return "O(n^2)";
-    }
-}
-
-class InsertionSort implements SortAlgorithm {
-    public void sort(int[] data) {
-        for (int i = 1; i < data.length; i++) {
-            int key = data[i];
-            int j = i - 1;
-            while (j >= 0 && data[j] > key) {
-                data[j + 1] = data[j];
-                j--;
-            }
-            data[j + 1] = key;
-        }
-    }
-    public String getComplexity() {
-        return "O(n^2)";
-    }
-}
-
-class SelectionSort implements SortAlgorithm {
-    public void sort(int[] data) {
-        for (int i = 0; i < data.length - 1; i++) {
-            int minIndex = i;
-            for (int j = i + 1; j < data.length; j++) {
-                if (data[j] < data[minIndex]) minIndex = j;
-            }
-            int temp = data[minIndex];
-            data[minIndex] = data[i];
-            data[i] = temp;
-        }
-    }
-    public String getComplexity() {
-        return "O(n^2)";
-    }
-}
-
-class QuickSort implements SortAlgorithm {
-    public void sort(int[] data) {
-        quickSort(data, 0, data.length - 1);
-    }
-
-    private void quickSort(int[] data, int low, int high) {
-        if (low < high) {
-            int pi = partition(data, low, high);
-            quickSort(data, low, pi - 1);
-            quickSort(data, pi + 1, high);
-        }
-    }
-
-    private int partition(int[] data, int low, int high) {
-        int pivot = data[high];
-        int i = low - 1;
-        for (int j = low; j < high; j++) {
-            if (data[j] < pivot) {
-                i++;
-                int temp = data[i];
-                data[i] = data[j];
-                data[j] = temp;
-            }
-        }
-        int temp = data[i + 1];
-        data[i + 1] = data[high];
-        data[high] = temp;
-        return i + 1;
-    }
-
-    public String getComplexity() {
-        return "O(n log n)";
-    }
-}
-
-class MergeSort implements SortAlgorithm {
-    public void sort(int[] data) {
-        if (data.length < 2) return;
-        mergeSort(data, 0, data.length - 1);
-    }
-
-    private void mergeSort(int[] data, int left, int right) {
-        if (left < right) {
-            int mid = (left + right) / 2;
-            mergeSort(data, left, mid);
-            mergeSort(data, mid + 1, right);
-            merge(data, left, mid, right);
-        }
-    }
-
-    private void merge(int[] data, int left, int mid, int right) {
-        int[] leftArr = Arrays.copyOfRange(data, left, mid + 1);
-        int[] rightArr = Arrays.copyOfRange(data, mid + 1, right + 1);
-        int i = 0, j = 0, k = left;
-        while (i < leftArr.length && j < rightArr.length) {
-            data[k++] = (leftArr[i] <= rightArr[j]) ? leftArr[i++] : rightArr[j++];
-        }
-        while (i < leftArr.length) data[k++] = leftArr[i++];
-        while (j < rightArr.length) data[k++] = rightArr[j++];
-    }
-
-    public String getComplexity() {
-        return "O(n log n)";
-    }
-}
-
-class HeapSort implements SortAlgorithm {
-    public void sort(int[] data) {
-        int n = data.length;
-        for (int i = n / 2 - 1; i >= 0; i--) heapify(data, n, i);
-        for (int i = n - 1; i >= 0; i--) {
-            int temp = data[0];
-            data[0] = data[i];
-            data[i] = temp;
-            heapify(data, i, 0);
-        }
-    }
-
-    private void heapify(int[] data, int n, int i) {
-        int largest = i, l = 2 * i + 1, r = 2 * i + 2;
-        if (l < n && data[l] > data[largest]) largest = l;
-        if (r < n && data[r] > data[largest]) largest = r;
-        if (largest != i) {
-            int swap = data[i];
-            data[i] = data[largest];
-            data[largest] = swap;
-            heapify(data, n, largest);
-        }
-    }
-
-    public String getComplexity() {
-        return "O(n log n)";
-    }
-}
-
-class RadixSort implements SortAlgorithm {
-    public void sort(int[] data) {
-        int max = Arrays.stream(data).max().orElse(0);
-        for (int exp = 1; max / exp > 0; exp *= 10) countSort(data, exp);
-    }
-
-    private void countSort(int[] data, int exp) {
-        int n = data.length;
-        int[] output = new int[n];
-        int[] count = new int[10];
-        for (int value : data) count[(value / exp) % 10]++;
-        for (int i = 1; i < 10; i++) count[i] += count[i - 1];
-        for (int i = n - 1; i >= 0; i--) {
-            output[count[(data[i] / exp) % 10] - 1] = data[i];
-            count[(data[i] / exp) % 10]--;
-        }
-        System.arraycopy(output, 0, data, 0, n);
-    }
-
-    public String getComplexity() {
-        return "O(nk)";
-    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Order statistics without a full sort. select is introselect: quickselect
+ * on IntroSort's pivot choice and three-way partition, recursing into only
+ * the side that holds k, so the expected cost is O(n). If the depth limit is
+ * reached, pivots switch to median of medians, which keeps the worst case
+ * linear. partialSort puts the k smallest values in order at the front in
+ * O(n + k log k). All methods rearrange the array they are given; use TopK
+ * to keep the input intact or to select from a stream.
+ */
+public final class Selection {
+    private static final int GROUP = 5;
+
+    private Selection() {
+    }
+
+    // Returns the k-th smallest value (0-based) and leaves it at data[k].
+    public static int select(int[] data, int k) {
+        select(data, 0, data.length, k);
+        return data[k];
+    }
+
+    // Rearranges data[from, to) so data[k] holds the value sorted order would
+    // put there, with no larger value before it and no smaller value after.
+    public static void select(int[] data, int from, int to, int k) {
+        if (k < from || k >= to) throw new IndexOutOfBoundsException("k = " + k + " outside [" + from + ", " + to + ")");
+        int low = from, high = to;
+        int depth = IntroSort.depthLimit(to - from);
+        while (high - low > IntroSort.INSERTION_THRESHOLD) {
+            int pivot = depth-- > 0 ? IntroSort.choosePivot(data, low, high) : medianOfMedians(data, low, high);
+            long bounds = IntroSort.partition(data, low, high, pivot);
+            int lt = (int) (bounds >>> 32), gt = (int) bounds;
+            if (k < lt) high = lt;
+            else if (k >= gt) low = gt;
+            else return;
+        }
+        InsertionSort.sort(data, low, high);
+    }
+
+    // Lower median.
+    public static int median(int[] data) {
+        if (data.length == 0) throw new IllegalArgumentException("No values.");
+        return select(data, (data.length - 1) / 2);
+    }
+
+    // Nearest-rank percentile, p in [0, 100].
+    public static int percentile(int[] data, double p) {
+        return select(data, rank(data.length, p));
+    }
+
+    // Several percentiles at once; each selection only searches the part of
+    // the array above the previous rank.
+    public static int[] percentiles(int[] data, double... ps) {
+        int[] ranks = new int[ps.length];
+        for (int i = 0; i < ps.length; i++) ranks[i] = rank(data.length, ps[i]);
+        int[] order = sortedOrder(ranks);
+        int[] results = new int[ps.length];
+        int from = 0;
+        for (int i : order) {
+            int k = ranks[i];
+            if (k >= from) {
+                select(data, from, data.length, k);
+                from = k + 1;
+            }
+            results[i] = data[k];
+        }
+        return results;
+    }
+
+    // Moves the k smallest values, sorted, to data[0, k). The rest of the
+    // array is left in no particular order.
+    public static void partialSort(int[] data, int k) {
+        if (k < 0 || k > data.length) throw new IllegalArgumentException("k must be between 0 and " + data.length);
+        if (k == 0) return;
+        if (k < data.length) select(data, 0, data.length, k - 1);
+        IntroSort.sort(data, 0, k);
+    }
+
+    private static int rank(int n, double p) {
+        if (n == 0) throw new IllegalArgumentException("No values.");
+        if (!(p >= 0 && p <= 100)) throw new IllegalArgumentException("Percentile must be between 0 and 100: " + p);
+        return Math.max(0, Math.min(n - 1, (int) Math.ceil(p / 100.0 * n) - 1));
+    }
+
+    // Indices of ranks in ascending rank order; ranks is small.
+    private static int[] sortedOrder(int[] ranks) {
+        int[] order = new int[ranks.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        for (int i = 1; i < order.length; i++) {
+            int current = order[i], j = i - 1;
+            while (j >= 0 && ranks[order[j]] > ranks[current]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+        return order;
+    }
+
+    // Median of the medians of groups of five, gathered at the front of the
+    // range; guarantees each partition drops at least 30% of the range.
+    private static int medianOfMedians(int[] data, int low, int high) {
+        int medians = low;
+        for (int group = low; group < high; group += GROUP) {
+            int end = Math.min(group + GROUP, high);
+            InsertionSort.sort(data, group, end);
+            int median = group + (end - group - 1) / 2;
+            OpCounter.swap();
+            int t = data[medians];
+            data[medians] = data[median];
+            data[median] = t;
+            medians++;
+        }
+        int middle = low + (medians - low - 1) / 2;
+        select(data, low, medians, middle);
+        return data[middle];
+    }
+}
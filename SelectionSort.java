@@ -0,0 +1,24 @@
+public class SelectionSort implements SortAlgorithm {
+    public void sort(int[] data) {
+        sort(data, ProgressListener.NONE);
+    }
+
+    public void sort(int[] data, ProgressListener listener) {
+        for (int i = 0; i < data.length - 1; i++) {
+            listener.progress(i, data.length);
+            int minIndex = i;
+            for (int j = i + 1; j < data.length; j++) {
+                if (OpCounter.less(data[j], data[minIndex])) minIndex = j;
+            }
+            OpCounter.swap();
+            int temp = data[minIndex];
+            data[minIndex] = data[i];
+            data[i] = temp;
+        }
+        listener.progress(data.length, data.length);
+    }
+
+    public String getComplexity() {
+        return "O(n^2)";
+    }
+}
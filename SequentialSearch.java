@@ -1,10 +1,78 @@
-import java.util.List;
-
+/*
+ * Linear scan. When the jdk.incubator.vector module is present (run with
+ * --add-modules jdk.incubator.vector) the scans compare a whole SIMD
+ * register of ints per step through VectorizedSearch; otherwise, or with
+ * -Ddsa.vector=false, or while operation counting is on, the scalar loops
+ * below are used. Both paths return the first matching index.
+ */
 public class SequentialSearch implements SearchAlgorithm {
-    public int search(List<Integer> data, int target) {
-        for (int i = 0; i < data.size(); i++) {
-            if (data.get(i) == target) return i;
+    public static final boolean VECTOR_AVAILABLE = !"false".equals(System.getProperty("dsa.vector"))
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    // Below this the scalar loop finishes before the vector setup pays off.
+    static final int VECTOR_MIN_LENGTH = 32;
+
+    private final boolean vectorized;
+
+    public SequentialSearch() {
+        this(true);
+    }
+
+    // vectorized = false forces the scalar loops, e.g. for comparisons.
+    public SequentialSearch(boolean vectorized) {
+        this.vectorized = vectorized && VECTOR_AVAILABLE && !OpCounter.ENABLED;
+    }
+
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    public int search(int[] data, int key) {
+        return indexOf(data, 0, data.length, key);
+    }
+
+    public int countEqual(int[] data, int key) {
+        return countEqual(data, 0, data.length, key);
+    }
+
+    // First index of key in data[from, to), or -1.
+    int indexOf(int[] data, int from, int to, int key) {
+        if (vectorized && to - from >= VECTOR_MIN_LENGTH) return VectorizedSearch.indexOf(data, from, to, key);
+        for (int i = from; i < to; i++) {
+            if (OpCounter.equal(data[i], key)) return i;
         }
         return -1;
     }
-}
\ No newline at end of file
+
+    int countEqual(int[] data, int from, int to, int key) {
+        if (vectorized && to - from >= VECTOR_MIN_LENGTH) return VectorizedSearch.countEqual(data, from, to, key);
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (OpCounter.equal(data[i], key)) count++;
+        }
+        return count;
+    }
+
+    public int min(int[] data) {
+        if (data.length == 0) throw new IllegalArgumentException("No values.");
+        if (vectorized && data.length >= VECTOR_MIN_LENGTH) return VectorizedSearch.min(data);
+        int result = data[0];
+        for (int i = 1; i < data.length; i++) {
+            if (OpCounter.less(data[i], result)) result = data[i];
+        }
+        return result;
+    }
+
+    public int max(int[] data) {
+        if (data.length == 0) throw new IllegalArgumentException("No values.");
+        if (vectorized && data.length >= VECTOR_MIN_LENGTH) return VectorizedSearch.max(data);
+        int result = data[0];
+        for (int i = 1; i < data.length; i++) {
+            if (OpCounter.less(result, data[i])) result = data[i];
+        }
+        return result;
+    }
+
+    public String getComplexity() {
+        return vectorized ? "O(n), " + VectorizedSearch.lanes() + " lanes per step" : "O(n)";
+    }
+}
@@ -1,5 +1,23 @@
-import java.util.List;
-
 public interface SortAlgorithm {
-    void sort(List<Integer> data);
-}
\ No newline at end of file
+    void sort(int[] data);
+    String getComplexity();
+
+    // Sorts with progress reports. Algorithms without finer-grained hooks
+    // report only the start and the end.
+    default void sort(int[] data, ProgressListener listener) {
+        listener.progress(0, data.length);
+        sort(data);
+        listener.progress(data.length, data.length);
+    }
+
+    default void sort(IntList data) {
+        sort(data.array());
+    }
+
+    // Runs one sort with freshly reset operation counters and returns them.
+    default OpCounter.Counts sortCounted(int[] data) {
+        OpCounter.reset();
+        sort(data);
+        return OpCounter.snapshot();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Sorted view of a dataset that is built once and then answers any number of
+ * lookups in O(log n). The caller's array is never modified. Each sorted slot
+ * remembers where its value sat in the original input, so results can be
+ * reported as indices into the unsorted data. Input that is already sorted
+ * is detected and shared without copying or building the position map.
+ */
+public final class SortedIntIndex {
+    private final int[] values;
+    private final int[] positions;
+
+    private SortedIntIndex(int[] values, int[] positions) {
+        this.values = values;
+        this.positions = positions;
+    }
+
+    public static SortedIntIndex build(IntList data) {
+        return build(data.array());
+    }
+
+    public static SortedIntIndex build(int[] data) {
+        if (isSorted(data)) return new SortedIntIndex(data, null);
+
+        // Stable radix sort of (value, position) pairs; ties stay in
+        // original order, so indexOf finds the first occurrence.
+        int n = data.length;
+        int[] values = data.clone();
+        int[] positions = new int[n];
+        for (int i = 0; i < n; i++) positions[i] = i;
+        KeyValueSort.radixSort(values, positions);
+        return new SortedIntIndex(values, positions);
+    }
+
+    static boolean isSorted(int[] data) {
+        for (int i = 1; i < data.length; i++) {
+            if (data[i - 1] > data[i]) return false;
+        }
+        return true;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean wasSorted() {
+        return positions == null;
+    }
+
+    public int valueAt(int sortedIndex) {
+        return values[sortedIndex];
+    }
+
+    public int originalIndex(int sortedIndex) {
+        return positions == null ? sortedIndex : positions[sortedIndex];
+    }
+
+    public boolean contains(int key) {
+        int i = lowerBound(key);
+        return i < values.length && values[i] == key;
+    }
+
+    // Runs algorithm over the sorted values and maps each first match back to
+    // its index in the original input; results[i] answers keys[i], or -1.
+    public int[] searchAll(SearchAlgorithm algorithm, int[] keys) {
+        int[] results = algorithm.searchAll(values, keys);
+        if (positions != null) {
+            for (int i = 0; i < results.length; i++) if (results[i] >= 0) results[i] = positions[results[i]];
+        }
+        return results;
+    }
+
+    // Index in the original input of the first occurrence of key, or -1.
+    public int indexOf(int key) {
+        int i = sortedIndexOf(key);
+        return i < 0 ? -1 : originalIndex(i);
+    }
+
+    // Index in sorted order of the first occurrence of key, or -1.
+    public int sortedIndexOf(int key) {
+        int i = lowerBound(key);
+        return i < values.length && values[i] == key ? i : -1;
+    }
+
+    // First sorted index whose value is >= key.
+    public int lowerBound(int key) {
+        int low = 0, high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // First sorted index whose value is > key.
+    public int upperBound(int key) {
+        int low = 0, high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    public int count(int key) {
+        return upperBound(key) - lowerBound(key);
+    }
+
+    // Number of values v with from <= v <= to.
+    public int countInRange(int from, int to) {
+        if (from > to) return 0;
+        return upperBound(to) - lowerBound(from);
+    }
+}
@@ -0,0 +1,391 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/*
+ * Ordered multiset of primitive ints that stays sorted under inserts and
+ * deletes, so live data can be searched without re-sorting. Values are kept
+ * in sorted chunks of at most CHUNK_CAPACITY ints (4 KB each): a binary
+ * search over the chunks' first values picks the chunk and a second one
+ * finds the slot, and an insert or delete shifts at most one chunk. A full
+ * chunk splits in two and a nearly empty one merges into its neighbour. A
+ * Fenwick tree over the chunk sizes answers rank and select in O(log n).
+ *
+ * Searches, counts, rank and select are O(log n). Inserts and deletes are
+ * O(log n) plus a shift within one chunk, with an O(n / CHUNK_CAPACITY)
+ * rebuild of the chunk directory on the rare split or merge.
+ */
+public class SortedIntList {
+    static final int CHUNK_CAPACITY = 1024;
+    // Bulk loads leave room in every chunk for later inserts.
+    static final int LOAD_FACTOR_SIZE = CHUNK_CAPACITY * 3 / 4;
+    private static final int MERGE_SIZE = CHUNK_CAPACITY / 4;
+
+    private int[][] chunks = new int[4][];
+    private int[] sizes = new int[4];
+    private int[] firsts = new int[4];
+    // 1-based Fenwick tree over sizes.
+    private int[] tree = new int[5];
+    private int chunkCount;
+    private int size;
+
+    public SortedIntList() {
+    }
+
+    // Bulk load from values that are already in ascending order, in O(n).
+    public static SortedIntList fromSorted(int[] sorted) {
+        if (!SortedIntIndex.isSorted(sorted)) throw new IllegalArgumentException("Values are not sorted.");
+        SortedIntList list = new SortedIntList();
+        list.load(sorted, sorted.length);
+        return list;
+    }
+
+    public static SortedIntList of(int[] values) {
+        int[] sorted = values.clone();
+        IntroSort.sort(sorted, 0, sorted.length);
+        return fromSorted(sorted);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(chunks, 0, chunkCount, null);
+        chunkCount = 0;
+        size = 0;
+    }
+
+    public void add(int value) {
+        if (chunkCount == 0) {
+            insertChunk(0, new int[CHUNK_CAPACITY], 0);
+            rebuildTree();
+        }
+        int c = Math.max(0, upperChunk(value) - 1);
+        int[] chunk = chunks[c];
+        int n = sizes[c];
+        int pos = upperBound(chunk, n, value);
+        System.arraycopy(chunk, pos, chunk, pos + 1, n - pos);
+        OpCounter.move(n - pos + 1);
+        chunk[pos] = value;
+        sizes[c] = n + 1;
+        if (pos == 0) firsts[c] = value;
+        size++;
+        treeAdd(c, 1);
+        if (n + 1 == CHUNK_CAPACITY) split(c);
+    }
+
+    // Merges values in: one by one when few, otherwise by a linear merge
+    // with the current contents and a bulk reload.
+    public void addAll(int[] values) {
+        if (values.length < Math.max(64, size / 16)) {
+            for (int value : values) add(value);
+            return;
+        }
+        int[] incoming = values.clone();
+        IntroSort.sort(incoming, 0, incoming.length);
+        int[] current = toArray();
+        int[] merged = new int[current.length + incoming.length];
+        OpCounter.allocateInts(merged.length + incoming.length);
+        int i = 0, j = 0, k = 0;
+        while (i < current.length && j < incoming.length) {
+            merged[k++] = OpCounter.lessOrEqual(current[i], incoming[j]) ? current[i++] : incoming[j++];
+        }
+        while (i < current.length) merged[k++] = current[i++];
+        while (j < incoming.length) merged[k++] = incoming[j++];
+        clear();
+        load(merged, merged.length);
+    }
+
+    // Removes one occurrence of value; returns false if there is none.
+    public boolean remove(int value) {
+        long at = locateFirst(value);
+        if (at < 0) return false;
+        int c = (int) (at >>> 32), pos = (int) at;
+        int[] chunk = chunks[c];
+        int n = sizes[c];
+        System.arraycopy(chunk, pos + 1, chunk, pos, n - pos - 1);
+        OpCounter.move(n - pos - 1);
+        sizes[c] = n - 1;
+        size--;
+        treeAdd(c, -1);
+        if (n - 1 == 0) {
+            removeChunk(c);
+            rebuildTree();
+        } else {
+            if (pos == 0) firsts[c] = chunk[0];
+            if (n - 1 < MERGE_SIZE) mergeWithNeighbour(c);
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        return locateFirst(value) >= 0;
+    }
+
+    // Position of the first occurrence of value in sorted order, or -1.
+    public int indexOf(int value) {
+        long at = locateFirst(value);
+        return at < 0 ? -1 : prefix((int) (at >>> 32)) + (int) at;
+    }
+
+    // Runs algorithm on the one chunk the directory picks for key and maps
+    // its first match to a position in sorted order, or -1.
+    public int search(SearchAlgorithm algorithm, int key) {
+        if (chunkCount == 0) return -1;
+        int c = Math.max(0, lowerChunk(key));
+        int pos = algorithm.search(chunk(c), key);
+        return pos >= 0 ? prefix(c) + pos : nextChunkStart(c, key);
+    }
+
+    // Batch form of search: keys are grouped by chunk so each chunk is
+    // handed to algorithm.searchAll once. results[i] answers keys[i].
+    public int[] searchAll(SearchAlgorithm algorithm, int[] keys) {
+        int[] results = new int[keys.length];
+        if (chunkCount == 0) {
+            Arrays.fill(results, -1);
+            return results;
+        }
+        // Counting sort of the key indices by chunk.
+        int[] chunkOf = new int[keys.length];
+        int[] starts = new int[chunkCount + 1];
+        for (int i = 0; i < keys.length; i++) starts[(chunkOf[i] = Math.max(0, lowerChunk(keys[i]))) + 1]++;
+        for (int c = 0; c < chunkCount; c++) starts[c + 1] += starts[c];
+        int[] order = new int[keys.length];
+        int[] next = Arrays.copyOf(starts, chunkCount);
+        for (int i = 0; i < keys.length; i++) order[next[chunkOf[i]]++] = i;
+        OpCounter.allocateInts(3L * keys.length + 2L * chunkCount);
+
+        for (int c = 0, base = 0; c < chunkCount; base += sizes[c++]) {
+            int from = starts[c], to = starts[c + 1];
+            if (from == to) continue;
+            int[] group = new int[to - from];
+            for (int k = from; k < to; k++) group[k - from] = keys[order[k]];
+            int[] found = algorithm.searchAll(chunk(c), group);
+            for (int k = from; k < to; k++) {
+                int pos = found[k - from];
+                results[order[k]] = pos >= 0 ? base + pos : nextChunkStart(c, group[k - from]);
+            }
+        }
+        return results;
+    }
+
+    // Number of values < value.
+    public int rank(int value) {
+        int c = lowerChunk(value);
+        if (c < 0) return 0;
+        return prefix(c) + lowerBound(chunks[c], sizes[c], value);
+    }
+
+    public int count(int value) {
+        return countInRange(value, value);
+    }
+
+    // Number of values in [low, high], inclusive.
+    public int countInRange(int low, int high) {
+        if (low > high) return 0;
+        int below = rank(low);
+        return (high == Integer.MAX_VALUE ? size : rank(high + 1)) - below;
+    }
+
+    // The index-th smallest value, 0-based.
+    public int get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        int c = 0, remaining = index;
+        for (int step = Integer.highestOneBit(Math.max(1, chunkCount)); step > 0; step >>= 1) {
+            int next = c + step;
+            if (next <= chunkCount && tree[next] <= remaining) {
+                c = next;
+                remaining -= tree[next];
+            }
+        }
+        return chunks[c][remaining];
+    }
+
+    public int min() {
+        if (size == 0) throw new NoSuchElementException("Empty list.");
+        return chunks[0][0];
+    }
+
+    public int max() {
+        if (size == 0) throw new NoSuchElementException("Empty list.");
+        return chunks[chunkCount - 1][sizes[chunkCount - 1] - 1];
+    }
+
+    // Feeds the values in [low, high], inclusive, to sink in ascending order.
+    public void forEachInRange(int low, int high, IntConsumer sink) {
+        if (low > high) return;
+        int c = Math.max(0, lowerChunk(low));
+        if (c >= chunkCount) return;
+        int pos = lowerBound(chunks[c], sizes[c], low);
+        for (; c < chunkCount; c++, pos = 0) {
+            int[] chunk = chunks[c];
+            for (int n = sizes[c]; pos < n; pos++) {
+                if (chunk[pos] > high) return;
+                sink.accept(chunk[pos]);
+            }
+        }
+    }
+
+    public void forEach(IntConsumer sink) {
+        for (int c = 0; c < chunkCount; c++) {
+            int[] chunk = chunks[c];
+            for (int i = 0, n = sizes[c]; i < n; i++) sink.accept(chunk[i]);
+        }
+    }
+
+    public int[] toArray() {
+        int[] result = new int[size];
+        int at = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            System.arraycopy(chunks[c], 0, result, at, sizes[c]);
+            at += sizes[c];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private void load(int[] sorted, int length) {
+        for (int from = 0; from < length; from += LOAD_FACTOR_SIZE) {
+            int n = Math.min(LOAD_FACTOR_SIZE, length - from);
+            int[] chunk = new int[CHUNK_CAPACITY];
+            System.arraycopy(sorted, from, chunk, 0, n);
+            insertChunk(chunkCount, chunk, n);
+        }
+        size = length;
+        OpCounter.allocateInts((long) chunkCount * CHUNK_CAPACITY);
+        rebuildTree();
+    }
+
+    // (chunk << 32 | position) of the first occurrence of value, or -1.
+    private long locateFirst(int value) {
+        int c = lowerChunk(value);
+        if (c < 0) c = 0;
+        if (c >= chunkCount) return -1;
+        int pos = lowerBound(chunks[c], sizes[c], value);
+        if (pos == sizes[c]) {
+            if (++c == chunkCount) return -1;
+            pos = 0;
+        }
+        if (!OpCounter.equal(chunks[c][pos], value)) return -1;
+        return ((long) c << 32) | pos;
+    }
+
+    // The live values of chunk c, as an exact-length array for the
+    // SearchAlgorithm implementations.
+    private int[] chunk(int c) {
+        OpCounter.allocateInts(sizes[c]);
+        return Arrays.copyOf(chunks[c], sizes[c]);
+    }
+
+    // A key missing from the chunk the directory picked can still open the
+    // next one; its sorted position there, or -1.
+    private int nextChunkStart(int c, int key) {
+        return c + 1 < chunkCount && OpCounter.equal(firsts[c + 1], key) ? prefix(c + 1) : -1;
+    }
+
+    // Last chunk whose first value is < value, or -1; the first value >= value
+    // is in it or at the start of the next chunk.
+    private int lowerChunk(int value) {
+        return lowerBound(firsts, chunkCount, value) - 1;
+    }
+
+    // Number of chunks whose first value is <= value.
+    private int upperChunk(int value) {
+        return upperBound(firsts, chunkCount, value);
+    }
+
+    private static int lowerBound(int[] data, int n, int key) {
+        int low = 0, high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (OpCounter.less(data[mid], key)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static int upperBound(int[] data, int n, int key) {
+        int low = 0, high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (OpCounter.lessOrEqual(data[mid], key)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private void split(int c) {
+        int[] chunk = chunks[c];
+        int half = sizes[c] / 2;
+        int[] upper = new int[CHUNK_CAPACITY];
+        OpCounter.allocateInts(CHUNK_CAPACITY);
+        System.arraycopy(chunk, half, upper, 0, sizes[c] - half);
+        OpCounter.move(sizes[c] - half);
+        insertChunk(c + 1, upper, sizes[c] - half);
+        sizes[c] = half;
+        rebuildTree();
+    }
+
+    private void mergeWithNeighbour(int c) {
+        int left = c > 0 && (c + 1 == chunkCount || sizes[c - 1] <= sizes[c + 1]) ? c - 1 : c;
+        if (left + 1 >= chunkCount || sizes[left] + sizes[left + 1] > CHUNK_CAPACITY / 2) return;
+        System.arraycopy(chunks[left + 1], 0, chunks[left], sizes[left], sizes[left + 1]);
+        OpCounter.move(sizes[left + 1]);
+        sizes[left] += sizes[left + 1];
+        removeChunk(left + 1);
+        rebuildTree();
+    }
+
+    private void insertChunk(int at, int[] chunk, int n) {
+        if (chunkCount == chunks.length) {
+            int capacity = chunkCount * 2;
+            chunks = Arrays.copyOf(chunks, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            firsts = Arrays.copyOf(firsts, capacity);
+            tree = new int[capacity + 1];
+        }
+        System.arraycopy(chunks, at, chunks, at + 1, chunkCount - at);
+        System.arraycopy(sizes, at, sizes, at + 1, chunkCount - at);
+        System.arraycopy(firsts, at, firsts, at + 1, chunkCount - at);
+        chunks[at] = chunk;
+        sizes[at] = n;
+        firsts[at] = chunk[0];
+        chunkCount++;
+    }
+
+    private void removeChunk(int at) {
+        System.arraycopy(chunks, at + 1, chunks, at, chunkCount - at - 1);
+        System.arraycopy(sizes, at + 1, sizes, at, chunkCount - at - 1);
+        System.arraycopy(firsts, at + 1, firsts, at, chunkCount - at - 1);
+        chunks[--chunkCount] = null;
+    }
+
+    private void rebuildTree() {
+        Arrays.fill(tree, 0, chunkCount + 1, 0);
+        for (int i = 1; i <= chunkCount; i++) {
+            tree[i] += sizes[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= chunkCount) tree[parent] += tree[i];
+        }
+    }
+
+    private void treeAdd(int c, int delta) {
+        for (int i = c + 1; i <= chunkCount; i += i & -i) tree[i] += delta;
+    }
+
+    // Total size of chunks [0, c).
+    private int prefix(int c) {
+        int sum = 0;
+        for (int i = c; i > 0; i -= i & -i) sum += tree[i];
+        return sum;
+    }
+}
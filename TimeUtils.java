@@ -1,13 +1,56 @@
+import java.util.Arrays;
+
 public class TimeUtils {
-    public static String getReport(String algoName, long timeNano) {
+    static final int SCALING_MIN_SIZE = 4096;
+    // Fitting the growth exponent re-sorts prefixes of the input 24 times,
+    // more work than the sort itself, so it runs only with -Ddsa.measure=true.
+    public static final boolean MEASURE_GROWTH = Boolean.getBoolean("dsa.measure");
+
+    public static String getReport(String complexity, long timeNano) {
         double timeMs = timeNano / 1_000_000.0;
-        String complexity = switch (algoName) {
-            case "BubbleSort" -> "O(n^2)";
-            case "BinarySearch" -> "O(log n)";
-            case "SequentialSearch" -> "O(n)";
-            case "QuickSort" -> "O(n log n)";
-            default -> "Unknown";
-        };
         return "Time taken: " + timeMs + " ms\nTheoretical Time Complexity: " + complexity;
     }
-}
\ No newline at end of file
+
+    public static String getReport(SortAlgorithm algorithm, int[] input, long timeNano) {
+        String measured = getMeasuredReport(algorithm, input);
+        return getReport(algorithm.getComplexity(), timeNano) + (measured.isEmpty() ? "" : "\n" + measured);
+    }
+
+    // Whether getMeasuredReport adds anything for n values; callers keep an
+    // unsorted copy of the input only then.
+    public static boolean hasMeasuredReport(int n) {
+        return MEASURE_GROWTH && n >= SCALING_MIN_SIZE || OpCounter.ENABLED;
+    }
+
+    // Re-runs the algorithm on prefixes of the input to back the theoretical
+    // complexity with a measured growth exponent when MEASURE_GROWTH is set,
+    // and adds operation counts when instrumentation is enabled. input is not
+    // modified.
+    public static String getMeasuredReport(SortAlgorithm algorithm, int[] input) {
+        return getMeasuredReport(algorithm, input, ProgressListener.NONE);
+    }
+
+    // As above, with every re-run reporting to listener so it can be cancelled.
+    public static String getMeasuredReport(SortAlgorithm sorter, int[] input, ProgressListener listener) {
+        SortAlgorithm algorithm = listener == ProgressListener.NONE ? sorter : new SortAlgorithm() {
+            public void sort(int[] data) {
+                sorter.sort(data, listener);
+            }
+
+            public String getComplexity() {
+                return sorter.getComplexity();
+            }
+        };
+        StringBuilder report = new StringBuilder();
+        int n = input.length;
+        if (MEASURE_GROWTH && n >= SCALING_MIN_SIZE) {
+            report.append(new MeasurementRunner(2, 5)
+                    .fitScaling(algorithm, size -> Arrays.copyOf(input, size), n / 8, n / 4, n / 2));
+        }
+        if (OpCounter.ENABLED) {
+            if (report.length() > 0) report.append('\n');
+            report.append(algorithm.sortCounted(input.clone()));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,83 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.function.IntConsumer;
+
+/*
+ * Streaming top-k: keeps the k smallest (or largest) values seen so far in
+ * a bounded IntPriorityQueue whose top is the worst value kept. A value that
+ * does not qualify costs one comparison, one that does a single replaceTop,
+ * so a pass over n values is O(n log k) time in O(k) memory. As an
+ * IntConsumer it can be fed straight from FileInputHandler.streamFromFile,
+ * so file input is never loaded whole.
+ */
+public final class TopK implements IntConsumer {
+    private final int k;
+    private final boolean largest;
+    // Worst kept value on top: a max-queue for the smallest values.
+    private final IntPriorityQueue kept;
+
+    private TopK(int k, boolean largest) {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative.");
+        this.k = k;
+        this.largest = largest;
+        this.kept = new IntPriorityQueue(largest ? IntPriorityQueue.Order.MIN : IntPriorityQueue.Order.MAX,
+                IntPriorityQueue.DEFAULT_ARITY, k);
+        OpCounter.allocateInts(k);
+    }
+
+    public static TopK smallest(int k) {
+        return new TopK(k, false);
+    }
+
+    public static TopK largest(int k) {
+        return new TopK(k, true);
+    }
+
+    public static int[] smallest(int[] data, int k) {
+        TopK top = smallest(Math.min(k, data.length));
+        for (int value : data) top.accept(value);
+        return top.toSortedArray();
+    }
+
+    public static int[] largest(int[] data, int k) {
+        TopK top = largest(Math.min(k, data.length));
+        for (int value : data) top.accept(value);
+        return top.toSortedArray();
+    }
+
+    public static int[] smallest(File file, int k) throws IOException {
+        TopK top = smallest(k);
+        FileInputHandler.streamFromFile(file, top);
+        return top.toSortedArray();
+    }
+
+    public static int[] largest(File file, int k) throws IOException {
+        TopK top = largest(k);
+        FileInputHandler.streamFromFile(file, top);
+        return top.toSortedArray();
+    }
+
+    @Override
+    public void accept(int value) {
+        if (kept.size() < k) {
+            kept.push(value);
+        } else if (k > 0 && (largest ? OpCounter.less(kept.peek(), value) : OpCounter.less(value, kept.peek()))) {
+            kept.replaceTop(value);
+        }
+    }
+
+    public int size() {
+        return kept.size();
+    }
+
+    // Best first: ascending for smallest, descending for largest.
+    public int[] toSortedArray() {
+        int[] result = kept.toSortedArray();
+        for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+            int t = result[i];
+            result[i] = result[j];
+            result[j] = t;
+        }
+        return result;
+    }
+}
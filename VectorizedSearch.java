@@ -0,0 +1,82 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * Linear scans on the incubating Vector API, one full SIMD register of ints
+ * per step (16 lanes with AVX-512, 8 with AVX2). indexOf checks two vectors
+ * per iteration and only locates the lane once a combined mask fires, so the
+ * hot loop is two compares, an OR and one branch. Tails run scalar.
+ *
+ * Only SequentialSearch touches this class, and only after checking that
+ * jdk.incubator.vector is in the boot layer, so the JVM never loads it when
+ * the module is missing.
+ */
+final class VectorizedSearch {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private VectorizedSearch() {
+    }
+
+    static int lanes() {
+        return LANES;
+    }
+
+    // First index of key in data[from, to), or -1.
+    static int indexOf(int[] data, int from, int to, int key) {
+        int i = from;
+        for (; i <= to - 2 * LANES; i += 2 * LANES) {
+            VectorMask<Integer> low = IntVector.fromArray(SPECIES, data, i).eq(key);
+            VectorMask<Integer> high = IntVector.fromArray(SPECIES, data, i + LANES).eq(key);
+            if (low.or(high).anyTrue()) return low.anyTrue() ? i + low.firstTrue() : i + LANES + high.firstTrue();
+        }
+        for (; i <= to - LANES; i += LANES) {
+            VectorMask<Integer> match = IntVector.fromArray(SPECIES, data, i).eq(key);
+            if (match.anyTrue()) return i + match.firstTrue();
+        }
+        for (; i < to; i++) {
+            if (data[i] == key) return i;
+        }
+        return -1;
+    }
+
+    // Matches are added into per-lane counters and reduced once at the end.
+    static int countEqual(int[] data, int from, int to, int key) {
+        int i = from;
+        IntVector one = IntVector.broadcast(SPECIES, 1);
+        IntVector counts = IntVector.zero(SPECIES);
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += LANES) {
+            counts = counts.add(one, IntVector.fromArray(SPECIES, data, i).eq(key));
+        }
+        int count = counts.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            if (data[i] == key) count++;
+        }
+        return count;
+    }
+
+    // Lane-wise running minimum, reduced once at the end.
+    static int min(int[] data) {
+        int i = 0;
+        IntVector acc = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        for (int bound = SPECIES.loopBound(data.length); i < bound; i += LANES) {
+            acc = acc.min(IntVector.fromArray(SPECIES, data, i));
+        }
+        int result = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < data.length; i++) result = Math.min(result, data[i]);
+        return result;
+    }
+
+    static int max(int[] data) {
+        int i = 0;
+        IntVector acc = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+        for (int bound = SPECIES.loopBound(data.length); i < bound; i += LANES) {
+            acc = acc.max(IntVector.fromArray(SPECIES, data, i));
+        }
+        int result = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < data.length; i++) result = Math.max(result, data[i]);
+        return result;
+    }
+}
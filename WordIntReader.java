@@ -0,0 +1,138 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.IntConsumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/*
+ * Streams the integers out of .docx files without building a document model.
+ * The main part (normally word/document.xml) is read straight from the zip
+ * with StAX, and the characters of every <w:t> run go into one IntTokenizer.
+ * Runs are not separated, so a number Word split across runs ("12" + "34")
+ * is parsed whole; paragraph ends, tabs and breaks separate. Memory stays at
+ * a few buffers whatever the document size.
+ */
+final class WordIntReader {
+    private static final String WORD_MAIN = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String WORD_STRICT = "http://purl.oclc.org/ooxml/wordprocessingml/main";
+    private static final String RELATIONSHIPS = "_rels/.rels";
+    private static final String OFFICE_DOCUMENT = "/officeDocument";
+    private static final String DEFAULT_MAIN_PART = "word/document.xml";
+    private static final int BUFFER_CHARS = 8192;
+
+    private WordIntReader() {
+    }
+
+    static void readDocx(File file, IntConsumer sink) throws IOException {
+        try (ZipFile zip = new ZipFile(file)) {
+            ZipEntry main = zip.getEntry(mainPart(zip));
+            if (main == null) throw new IOException("No document part in " + file.getName());
+            TextSink text = new TextSink(sink);
+            try (InputStream in = zip.getInputStream(main)) {
+                XMLStreamReader xml = newReader(in);
+                boolean inText = false;
+                while (xml.hasNext()) {
+                    switch (xml.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> {
+                            if (!isWord(xml)) break;
+                            switch (xml.getLocalName()) {
+                                case "t" -> inText = true;
+                                case "tab", "br", "cr", "p" -> text.separator();
+                                default -> {
+                                }
+                            }
+                        }
+                        case XMLStreamConstants.END_ELEMENT -> {
+                            if (!isWord(xml)) break;
+                            if (xml.getLocalName().equals("t")) inText = false;
+                            else if (xml.getLocalName().equals("p")) text.separator();
+                        }
+                        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                            if (inText) text.put(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                        }
+                        default -> {
+                        }
+                    }
+                }
+                xml.close();
+            } catch (XMLStreamException e) {
+                throw new IOException("Malformed document XML in " + file.getName() + ": " + e.getMessage(), e);
+            }
+            text.finish();
+        }
+    }
+
+    // Target of the officeDocument relationship, or the usual part name.
+    private static String mainPart(ZipFile zip) throws IOException {
+        ZipEntry rels = zip.getEntry(RELATIONSHIPS);
+        if (rels == null) return DEFAULT_MAIN_PART;
+        try (InputStream in = zip.getInputStream(rels)) {
+            XMLStreamReader xml = newReader(in);
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && xml.getLocalName().equals("Relationship")) {
+                    String type = xml.getAttributeValue(null, "Type");
+                    String target = xml.getAttributeValue(null, "Target");
+                    if (type != null && target != null && type.endsWith(OFFICE_DOCUMENT)) {
+                        return target.startsWith("/") ? target.substring(1) : target;
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            // Fall through to the conventional name.
+        }
+        return DEFAULT_MAIN_PART;
+    }
+
+    private static XMLStreamReader newReader(InputStream in) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory.createXMLStreamReader(in);
+    }
+
+    private static boolean isWord(XMLStreamReader xml) {
+        String namespace = xml.getNamespaceURI();
+        return WORD_MAIN.equals(namespace) || WORD_STRICT.equals(namespace);
+    }
+
+    // Buffers characters for the tokenizer, turning control characters and
+    // no-break spaces into separators.
+    private static final class TextSink {
+        private final IntTokenizer tokenizer;
+        private final char[] buffer = new char[BUFFER_CHARS];
+        private int size;
+
+        TextSink(IntConsumer sink) {
+            tokenizer = new IntTokenizer(sink);
+        }
+
+        void put(char[] chars, int from, int length) {
+            for (int i = from, end = from + length; i < end; i++) put(chars[i]);
+        }
+
+        void put(char c) {
+            if (size == buffer.length) flush();
+            buffer[size++] = c < 0x20 || c == 0xA0 ? ' ' : c;
+        }
+
+        void separator() {
+            put(' ');
+        }
+
+        void finish() {
+            flush();
+            tokenizer.finish();
+        }
+
+        private void flush() {
+            tokenizer.feed(buffer, 0, size);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package dsa.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+
+/*
+ * The algorithms live in the default package, which a named package cannot
+ * import, and JMH refuses benchmarks in the default package. They are
+ * therefore looked up by class name and called through bound method handles;
+ * the handle call costs a few nanoseconds per operation, far below the cost
+ * of a sort or search.
+ */
+final class Algorithms {
+    static final String ARRAYS_SORT = "ArraysSort";
+    static final String ARRAYS_PARALLEL_SORT = "ArraysParallelSort";
+
+    private Algorithms() {
+    }
+
+    interface Sorter {
+        void sort(int[] data);
+    }
+
+    interface Searcher {
+        int search(int[] data, int key);
+
+        int[] searchAll(int[] data, int[] keys);
+    }
+
+    static Sorter sorter(String name) {
+        if (ARRAYS_SORT.equals(name)) return Arrays::sort;
+        if (ARRAYS_PARALLEL_SORT.equals(name)) return Arrays::parallelSort;
+        MethodHandle sort = bind(name, "sort", MethodType.methodType(void.class, int[].class));
+        return data -> {
+            try {
+                sort.invokeExact(data);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    static Searcher searcher(String name) {
+        MethodHandle search = bind(name, "search", MethodType.methodType(int.class, int[].class, int.class));
+        MethodHandle searchAll = bind(name, "searchAll", MethodType.methodType(int[].class, int[].class, int[].class));
+        return new Searcher() {
+            public int search(int[] data, int key) {
+                try {
+                    return (int) search.invokeExact(data, key);
+                } catch (Throwable t) {
+                    throw rethrow(t);
+                }
+            }
+
+            public int[] searchAll(int[] data, int[] keys) {
+                try {
+                    return (int[]) searchAll.invokeExact(data, keys);
+                } catch (Throwable t) {
+                    throw rethrow(t);
+                }
+            }
+        };
+    }
+
+    private static MethodHandle bind(String className, String method, MethodType type) {
+        try {
+            Class<?> algorithm = Class.forName(className);
+            Object instance = algorithm.getDeclaredConstructor().newInstance();
+            return MethodHandles.publicLookup().findVirtual(algorithm, method, type).bindTo(instance);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot load algorithm " + className, e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException e) return e;
+        if (t instanceof Error e) throw e;
+        return new IllegalStateException(t);
+    }
+}
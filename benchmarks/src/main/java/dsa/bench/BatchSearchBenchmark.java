@@ -0,0 +1,79 @@
+package dsa.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/*
+ * Batched lookups of SearchBenchmark.KEY_COUNT keys, reported per key. A
+ * batch against a linear scan is KEY_COUNT full scans, so the linear
+ * searches only run up to 1e4 elements.
+ */
+public class BatchSearchBenchmark {
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+    public static class Sorted {
+        @Param({"BinarySearch", "EytzingerSearch"})
+        public String algorithm;
+
+        @Param({"100", "1000", "10000", "100000", "1000000", "10000000", "100000000"})
+        public int size;
+
+        @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "SAWTOOTH", "NEARLY_SORTED"})
+        public Distribution distribution;
+
+        private Algorithms.Searcher searcher;
+        private int[] data;
+        private int[] keys;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            searcher = Algorithms.searcher(algorithm);
+            data = SearchBenchmark.data(algorithm, distribution, size);
+            keys = SearchBenchmark.keys(data);
+        }
+
+        @Benchmark
+        @OperationsPerInvocation(SearchBenchmark.KEY_COUNT)
+        public int[] searchAll() {
+            return searcher.searchAll(data, keys);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector"})
+    public static class Linear {
+        @Param({"SequentialSearch", "ParallelSequentialSearch"})
+        public String algorithm;
+
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "SAWTOOTH", "NEARLY_SORTED"})
+        public Distribution distribution;
+
+        private Algorithms.Searcher searcher;
+        private int[] data;
+        private int[] keys;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            searcher = Algorithms.searcher(algorithm);
+            data = SearchBenchmark.data(algorithm, distribution, size);
+            keys = SearchBenchmark.keys(data);
+        }
+
+        @Benchmark
+        @OperationsPerInvocation(SearchBenchmark.KEY_COUNT)
+        public int[] searchAll() {
+            return searcher.searchAll(data, keys);
+        }
+    }
+}
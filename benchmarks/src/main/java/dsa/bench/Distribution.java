@@ -0,0 +1,46 @@
+package dsa.bench;
+
+import java.util.SplittableRandom;
+
+/*
+ * Input shapes used by every benchmark. Generation is seeded, so each build
+ * measures exactly the same arrays.
+ */
+public enum Distribution {
+    RANDOM, SORTED, REVERSED, FEW_UNIQUE, SAWTOOTH, NEARLY_SORTED;
+
+    static final long SEED = 0x5EED_2041L;
+
+    int[] generate(int n) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] data = new int[n];
+        switch (this) {
+            case RANDOM -> {
+                for (int i = 0; i < n; i++) data[i] = random.nextInt();
+            }
+            case SORTED -> {
+                for (int i = 0; i < n; i++) data[i] = i;
+            }
+            case REVERSED -> {
+                for (int i = 0; i < n; i++) data[i] = n - i;
+            }
+            case FEW_UNIQUE -> {
+                for (int i = 0; i < n; i++) data[i] = random.nextInt(16);
+            }
+            case SAWTOOTH -> {
+                int tooth = Math.max(1, (int) Math.sqrt(n));
+                for (int i = 0; i < n; i++) data[i] = i % tooth;
+            }
+            case NEARLY_SORTED -> {
+                for (int i = 0; i < n; i++) data[i] = i;
+                for (int swaps = Math.max(1, n / 100); swaps > 0; swaps--) {
+                    int a = random.nextInt(n), b = random.nextInt(n);
+                    int t = data[a];
+                    data[a] = data[b];
+                    data[b] = t;
+                }
+            }
+        }
+        return data;
+    }
+}
@@ -0,0 +1,72 @@
+package dsa.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/*
+ * The textbook QuickSort, which pivots on the last element: random input at
+ * every size, and ordered shapes only up to 1e4, since on those it is
+ * quadratic and recurses once per element.
+ */
+public class PlainQuickSortBenchmark {
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+    public static class Random {
+        @Param({"100", "1000", "10000", "100000", "1000000", "10000000", "100000000"})
+        public int size;
+
+        private Algorithms.Sorter sorter;
+        private int[] input;
+        private int[] work;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            sorter = Algorithms.sorter("QuickSort");
+            input = Distribution.RANDOM.generate(size);
+            work = new int[size];
+        }
+
+        @Benchmark
+        public int[] sort() {
+            System.arraycopy(input, 0, work, 0, size);
+            sorter.sort(work);
+            return work;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public static class Ordered {
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        @Param({"SORTED", "REVERSED", "FEW_UNIQUE", "SAWTOOTH", "NEARLY_SORTED"})
+        public Distribution distribution;
+
+        private Algorithms.Sorter sorter;
+        private int[] input;
+        private int[] work;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            sorter = Algorithms.sorter("QuickSort");
+            input = distribution.generate(size);
+            work = new int[size];
+        }
+
+        @Benchmark
+        public int[] sort() {
+            System.arraycopy(input, 0, work, 0, size);
+            sorter.sort(work);
+            return work;
+        }
+    }
+}
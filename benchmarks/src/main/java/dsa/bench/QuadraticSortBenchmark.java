@@ -0,0 +1,43 @@
+package dsa.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/*
+ * The O(n^2) sorts. Sizes stop at 1e5; past that a single operation takes
+ * minutes and says nothing the smaller sizes do not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class QuadraticSortBenchmark {
+    @Param({"BubbleSort", "InsertionSort", "SelectionSort", Algorithms.ARRAYS_SORT})
+    public String algorithm;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "SAWTOOTH", "NEARLY_SORTED"})
+    public Distribution distribution;
+
+    private Algorithms.Sorter sorter;
+    private int[] input;
+    private int[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sorter = Algorithms.sorter(algorithm);
+        input = distribution.generate(size);
+        work = new int[size];
+    }
+
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(input, 0, work, 0, size);
+        sorter.sort(work);
+        return work;
+    }
+}
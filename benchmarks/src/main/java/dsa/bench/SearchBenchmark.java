@@ -0,0 +1,66 @@
+package dsa.bench;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/*
+ * Single-key lookups. Keys are a fixed mix of hits and misses taken from
+ * the data, cycled across operations. The sorted searches get the data
+ * sorted; the linear scans get it in generated order. Batched lookups are
+ * in BatchSearchBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules=jdk.incubator.vector"})
+public class SearchBenchmark {
+    static final int KEY_COUNT = 1 << 16;
+
+    @Param({"SequentialSearch", "ParallelSequentialSearch", "BinarySearch", "EytzingerSearch"})
+    public String algorithm;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "SAWTOOTH", "NEARLY_SORTED"})
+    public Distribution distribution;
+
+    private Algorithms.Searcher searcher;
+    private int[] data;
+    private int[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        searcher = Algorithms.searcher(algorithm);
+        data = data(algorithm, distribution, size);
+        keys = keys(data);
+    }
+
+    @Benchmark
+    public int search() {
+        int key = keys[next];
+        next = (next + 1) & (KEY_COUNT - 1);
+        return searcher.search(data, key);
+    }
+
+    // Generated data, sorted unless the algorithm is a linear scan.
+    static int[] data(String algorithm, Distribution distribution, int size) {
+        int[] data = distribution.generate(size);
+        if (!algorithm.endsWith("SequentialSearch")) Arrays.sort(data);
+        return data;
+    }
+
+    static int[] keys(int[] data) {
+        SplittableRandom random = new SplittableRandom(Distribution.SEED);
+        int[] keys = new int[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = random.nextBoolean() ? data[random.nextInt(data.length)] : random.nextInt();
+        }
+        return keys;
+    }
+}
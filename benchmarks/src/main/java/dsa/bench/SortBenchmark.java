@@ -0,0 +1,48 @@
+package dsa.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/*
+ * O(n log n) and linear sorts, plus Arrays.sort and Arrays.parallelSort as
+ * baselines, from 1e2 to 1e8 elements. Each operation copies the prepared
+ * input into a work array and sorts it; the copy is the same for every
+ * algorithm, so results stay comparable. Plain QuickSort is quadratic on
+ * ordered input and runs in PlainQuickSortBenchmark instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class SortBenchmark {
+    @Param({"MergeSort", "HeapSort", "RadixSort", "IntroSort", "AdaptiveMergeSort",
+            "ParallelQuickSort", "ParallelMergeSort", "ParallelRadixSort", "CountingSort", "AutoSort",
+            Algorithms.ARRAYS_SORT, Algorithms.ARRAYS_PARALLEL_SORT})
+    public String algorithm;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "SAWTOOTH", "NEARLY_SORTED"})
+    public Distribution distribution;
+
+    private Algorithms.Sorter sorter;
+    private int[] input;
+    private int[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sorter = Algorithms.sorter(algorithm);
+        input = distribution.generate(size);
+        work = new int[size];
+    }
+
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(input, 0, work, 0, size);
+        sorter.sort(work);
+        return work;
+    }
+}